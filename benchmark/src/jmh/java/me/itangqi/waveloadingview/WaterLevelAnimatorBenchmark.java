@@ -0,0 +1,56 @@
+package me.itangqi.waveloadingview;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * setProgressValue() patlamalarında su seviyesi animasyonunun maliyeti.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WaterLevelAnimatorBenchmark {
+    private static final long FRAME_NANOS = 16666667L;
+    // Saniyede 50 güncelleme, karede yaklaşık 3 güncelleme.
+    private static final int BURST_UPDATES = 50;
+    private static final int UPDATES_PER_FRAME = 3;
+
+    private WaterLevelAnimator animator;
+    private long frameTime;
+
+    @Setup
+    public void setUp() {
+        animator = new WaterLevelAnimator();
+        animator.setValue(0f);
+        frameTime = 0;
+    }
+
+    @Benchmark
+    public float progressBurst() {
+        for (int i = 0; i < BURST_UPDATES; i++) {
+            animator.animateTo((i % 100) / 100f);
+            if (i % UPDATES_PER_FRAME == 0) {
+                frameTime += FRAME_NANOS;
+                animator.doFrame(frameTime);
+            }
+        }
+        return animator.getValue();
+    }
+
+    @Benchmark
+    public float steadyFrame() {
+        if (!animator.isRunning()) {
+            animator.animateTo(animator.getTarget() > 0.5f ? 0.1f : 0.9f);
+        }
+        frameTime += FRAME_NANOS;
+        animator.doFrame(frameTime);
+        return animator.getValue();
+    }
+}
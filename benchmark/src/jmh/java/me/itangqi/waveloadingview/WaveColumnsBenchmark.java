@@ -0,0 +1,51 @@
+package me.itangqi.waveloadingview;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dalga dokusu oluşturulurken her sütunun tepe noktasının hesaplanması.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WaveColumnsBenchmark {
+
+    @Param({"360", "720", "1080"})
+    public int width;
+
+    private float[] waveY;
+
+    @Setup
+    public void setUp() {
+        waveY = new float[width + 1];
+    }
+
+    /**
+     * Önceki uygulama: her sütun için Math.sin.
+     */
+    @Benchmark
+    public float[] mathSin() {
+        double angularFrequency = 2.0f * Math.PI / width;
+        float waterLevel = width * 0.5f;
+        float amplitude = width * 0.1f;
+        for (int x = 0; x < waveY.length; x++) {
+            waveY[x] = (float) (waterLevel + amplitude * Math.sin(x * angularFrequency));
+        }
+        return waveY;
+    }
+
+    @Benchmark
+    public float[] sineTable() {
+        WaveMath.computeWaveY(waveY, width * 0.5f, width * 0.1f, width);
+        return waveY;
+    }
+}
@@ -0,0 +1,39 @@
+package me.itangqi.waveloadingview;
+
+import android.test.AndroidTestCase;
+import android.text.TextPaint;
+import android.text.TextUtils;
+
+public class TitleLayoutCacheTest extends AndroidTestCase {
+    private static final int WIDTH = 200;
+
+    private TextPaint mPaint;
+    private TitleLayoutCache mCache;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mPaint = new TextPaint();
+        mPaint.setTextSize(30);
+        TextPaint strokePaint = new TextPaint(mPaint);
+        mCache = new TitleLayoutCache(mPaint, strokePaint);
+    }
+
+    public void testRepeatedTextReusesLayout() {
+        TitleLayoutCache.Entry first = mCache.obtain("42%", WIDTH, 1, TextUtils.TruncateAt.END);
+        mCache.obtain("43%", WIDTH, 1, TextUtils.TruncateAt.END);
+        assertSame(first, mCache.obtain("42%", WIDTH, 1, TextUtils.TruncateAt.END));
+    }
+
+    public void testTextSizeChangeRebuildsLayout() {
+        TitleLayoutCache.Entry first = mCache.obtain("42%", WIDTH, 1, TextUtils.TruncateAt.END);
+        mPaint.setTextSize(40);
+        assertNotSame(first, mCache.obtain("42%", WIDTH, 1, TextUtils.TruncateAt.END));
+    }
+
+    public void testLongTextIsLimitedToMaxLines() {
+        String text = "Downloading a very long file name that does not fit into the view";
+        assertEquals(1, mCache.obtain(text, WIDTH, 1, TextUtils.TruncateAt.END).getLayout().getLineCount());
+        assertEquals(2, mCache.obtain(text, WIDTH, 2, TextUtils.TruncateAt.END).getLayout().getLineCount());
+    }
+}
@@ -0,0 +1,58 @@
+package me.itangqi.waveloadingview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.os.Debug;
+import android.test.AndroidTestCase;
+import android.view.View;
+
+public class WaveGridViewTest extends AndroidTestCase {
+    private static final int WIDTH = 400;
+    private static final int GAUGE_COUNT = 120;
+
+    public void testGaugesShareOneTexture() {
+        WaveTexturePool.getInstance().evictAll();
+        int before = WaveTexturePool.getInstance().getTotalBytes();
+        WaveGridView first = createGrid();
+        int oneTexture = WaveTexturePool.getInstance().getTotalBytes() - before;
+        assertTrue(oneTexture > 0);
+
+        WaveGridView second = createGrid();
+        second.setWaveColor(7, Color.RED);
+        assertEquals(oneTexture, WaveTexturePool.getInstance().getTotalBytes() - before);
+        assertEquals(Color.RED, second.getWaveColor(7));
+        assertEquals(first.getWaveColor(7), first.getWaveColor(8));
+    }
+
+    @SuppressWarnings("deprecation")
+    public void testOnDrawDoesNotAllocate() {
+        WaveGridView grid = createGrid();
+        Canvas canvas = new Canvas(Bitmap.createBitmap(grid.getMeasuredWidth(), grid.getMeasuredHeight(),
+                Bitmap.Config.ARGB_8888));
+        grid.onDraw(canvas);
+
+        Debug.startAllocCounting();
+        Debug.resetThreadAllocCount();
+        for (int i = 0; i < 60; i++) {
+            grid.onDraw(canvas);
+        }
+        int allocations = Debug.getThreadAllocCount();
+        Debug.stopAllocCounting();
+        assertEquals(0, allocations);
+    }
+
+    private WaveGridView createGrid() {
+        WaveGridView grid = new WaveGridView(getContext());
+        grid.setColumnCount(10);
+        grid.setGaugeCount(GAUGE_COUNT);
+        grid.setProgressLabel("{p}%");
+        for (int i = 0; i < GAUGE_COUNT; i++) {
+            grid.setProgressValue(i, i % 100);
+        }
+        grid.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+        grid.layout(0, 0, grid.getMeasuredWidth(), grid.getMeasuredHeight());
+        return grid;
+    }
+}
@@ -0,0 +1,70 @@
+package me.itangqi.waveloadingview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Debug;
+import android.test.AndroidTestCase;
+import android.view.View;
+
+/**
+ * Kararlı durumdaki animasyonun onDraw() içinde hiç nesne ayırmadığını doğrular.
+ */
+public class WaveLoadingViewAllocationTest extends AndroidTestCase {
+    private static final int SIZE = 300;
+    private static final int FRAME_COUNT = 120;
+
+    public void testOnDrawDoesNotAllocateForAnyShape() {
+        for (WaveLoadingView.ShapeType shapeType : WaveLoadingView.ShapeType.values()) {
+            assertEquals(shapeType.name(), 0, countFrameAllocations(createView(shapeType)));
+        }
+    }
+
+    public void testOnDrawDoesNotAllocateForRoundRectangleWithBorder() {
+        WaveLoadingView view = createView(WaveLoadingView.ShapeType.RECTANGLE);
+        view.setBorderWidth(4);
+        assertEquals(0, countFrameAllocations(view));
+    }
+
+    public void testOnDrawDoesNotAllocateWithStaticLayerCache() {
+        WaveLoadingView view = createView(WaveLoadingView.ShapeType.CIRCLE);
+        view.setBorderWidth(4);
+        view.setStaticLayerCache(true);
+        assertEquals(0, countFrameAllocations(view));
+    }
+
+    public void testOnDrawDoesNotAllocateWithProgressLabel() {
+        WaveLoadingView view = createView(WaveLoadingView.ShapeType.CIRCLE);
+        view.setProgressLabel("{p}%");
+        assertEquals(0, countFrameAllocations(view));
+    }
+
+    private WaveLoadingView createView(WaveLoadingView.ShapeType shapeType) {
+        WaveLoadingView view = new WaveLoadingView(getContext());
+        view.setShapeType(shapeType);
+        view.setTopTitle("Top Title");
+        view.setCenterTitle("50%");
+        view.setBottomTitle("Bottom Title");
+        view.measure(View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+        return view;
+    }
+
+    @SuppressWarnings("deprecation")
+    private int countFrameAllocations(WaveLoadingView view) {
+        Canvas canvas = new Canvas(Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888));
+        // Isınma karesi.
+        view.onDraw(canvas);
+
+        Debug.startAllocCounting();
+        Debug.resetThreadAllocCount();
+        for (int i = 0; i < FRAME_COUNT; i++) {
+            view.setWaveShiftRatio((float) i / FRAME_COUNT);
+            view.setWaterLevelRatio(0.3f + 0.4f * i / FRAME_COUNT);
+            view.onDraw(canvas);
+        }
+        int allocations = Debug.getThreadAllocCount();
+        Debug.stopAllocCounting();
+        return allocations;
+    }
+}
@@ -0,0 +1,84 @@
+package me.itangqi.waveloadingview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.test.AndroidTestCase;
+import android.util.Log;
+
+/**
+ * Tam genişlikteki bir View için dalga dokusu oluşturmanın önceki (sütun başına Math.sin ve drawLine)
+ * ve şimdiki (sinüs tablosu ve katman başına tek drawLines) maliyetini karşılaştırır.
+ * Sonuçlar logcat'e "WaveTextureBenchmark" etiketiyle yazılır.
+ */
+public class WaveTextureBenchmarkTest extends AndroidTestCase {
+    private static final String TAG = "WaveTextureBenchmark";
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1080;
+    private static final int WARM_UP = 5;
+    private static final int ITERATIONS = 30;
+
+    public void testBatchedGenerationIsFasterThanPerColumnDrawLine() {
+        Bitmap bitmap = Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888);
+
+        for (int i = 0; i < WARM_UP; i++) {
+            bitmap.eraseColor(Color.TRANSPARENT);
+            drawWavesPerColumn(bitmap, Color.BLUE);
+            bitmap.eraseColor(Color.TRANSPARENT);
+            WaveTextureFactory.drawWaves(bitmap, Color.BLUE, WIDTH, HEIGHT, 0);
+        }
+
+        long before = 0;
+        long after = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            bitmap.eraseColor(Color.TRANSPARENT);
+            long start = System.nanoTime();
+            drawWavesPerColumn(bitmap, Color.BLUE);
+            before += System.nanoTime() - start;
+
+            bitmap.eraseColor(Color.TRANSPARENT);
+            start = System.nanoTime();
+            WaveTextureFactory.drawWaves(bitmap, Color.BLUE, WIDTH, HEIGHT, 0);
+            after += System.nanoTime() - start;
+        }
+
+        Log.d(TAG, String.format("%dx%d before: %.3f ms, after: %.3f ms",
+                WIDTH, HEIGHT, before / 1e6 / ITERATIONS, after / 1e6 / ITERATIONS));
+        assertTrue(after < before);
+    }
+
+    /**
+     * Önceki uygulama: her sütun için Math.sin ve iki katman için ayrı drawLine çağrıları.
+     */
+    private static void drawWavesPerColumn(Bitmap bitmap, int waveColor) {
+        int width = bitmap.getWidth();
+        int height = bitmap.getHeight();
+        double defaultAngularFrequency = 2.0f * Math.PI / WaveDrawable.DEFAULT_WAVE_LENGTH_RATIO / width;
+        float defaultAmplitude = height * WaveDrawable.DEFAULT_AMPLITUDE_RATIO;
+        float defaultWaterLevel = height * WaveDrawable.DEFAULT_WATER_LEVEL_RATIO;
+
+        Canvas canvas = new Canvas(bitmap);
+        Paint wavePaint = new Paint();
+        wavePaint.setStrokeWidth(2);
+        wavePaint.setAntiAlias(true);
+
+        final int endX = width + 1;
+        final int endY = height + 1;
+        float[] waveY = new float[endX];
+
+        wavePaint.setColor(WaveTextureFactory.adjustAlpha(waveColor, 0.3f));
+        for (int beginX = 0; beginX < endX; beginX++) {
+            double wx = beginX * defaultAngularFrequency;
+            float beginY = (float) (defaultWaterLevel + defaultAmplitude * Math.sin(wx));
+            canvas.drawLine(beginX, beginY, beginX, endY, wavePaint);
+            waveY[beginX] = beginY;
+        }
+
+        wavePaint.setColor(waveColor);
+        final int wave2Shift = width / 4;
+        for (int beginX = 0; beginX < endX; beginX++) {
+            canvas.drawLine(beginX, waveY[(beginX + wave2Shift) % endX], beginX, endY, wavePaint);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package me.itangqi.waveloadingview;
+
+/**
+ * Dalga animasyonunun hangi karelerde çizileceğine karar verir.
+ * <p>
+ * Kare saati her vsync'te çalışmaya devam eder; bu sınıf sadece hedef kare hızına göre bazı kareleri atlatır.
+ * Dalganın konumu kare zamanından hesaplandığı için kare atlamak dalga hızını değiştirmez.
+ */
+final class FrameRateController {
+    /**
+     * Ekranın yenileme hızında çizer.
+     */
+    static final int DISPLAY_FRAME_RATE = 0;
+    // Otomatik modda, güç tasarrufunda veya kare kaçırılırken kullanılan kare hızı.
+    static final int REDUCED_FRAME_RATE = 20;
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    private int mFrameRate = DISPLAY_FRAME_RATE;
+    private boolean mAdaptive;
+    private long mLastFrameNanos = -1;
+
+    void setFrameRate(int frameRate) {
+        mFrameRate = Math.max(DISPLAY_FRAME_RATE, frameRate);
+    }
+
+    int getFrameRate() {
+        return mFrameRate;
+    }
+
+    void setAdaptive(boolean adaptive) {
+        mAdaptive = adaptive;
+    }
+
+    boolean isAdaptive() {
+        return mAdaptive;
+    }
+
+    /**
+     * @param constrained Cihaz güç tasarrufundaysa veya kareler kaçırılıyorsa true
+     * @return Kullanılacak kare hızı; {@link #DISPLAY_FRAME_RATE} ise her kare çizilir
+     */
+    int getEffectiveFrameRate(boolean constrained) {
+        if (mAdaptive && constrained) {
+            return mFrameRate == DISPLAY_FRAME_RATE ? REDUCED_FRAME_RATE : Math.min(mFrameRate, REDUCED_FRAME_RATE);
+        }
+        return mFrameRate;
+    }
+
+    /**
+     * @param frameTimeNanos Karenin zamanı
+     * @param constrained    Cihaz güç tasarrufundaysa veya kareler kaçırılıyorsa true
+     * @return Bu karenin çizilmesi gerekiyorsa true
+     */
+    boolean shouldRender(long frameTimeNanos, boolean constrained) {
+        int frameRate = getEffectiveFrameRate(constrained);
+        if (frameRate != DISPLAY_FRAME_RATE && mLastFrameNanos >= 0) {
+            long intervalNanos = NANOS_PER_SECOND / frameRate;
+            // Vsync'teki küçük sapmalar yüzünden kare kaçırmamak için çeyrek aralık tolerans.
+            if (frameTimeNanos - mLastFrameNanos < intervalNanos - intervalNanos / 4) {
+                return false;
+            }
+        }
+        mLastFrameNanos = frameTimeNanos;
+        return true;
+    }
+
+    /**
+     * Animasyon yeniden başladığında ilk karenin hemen çizilmesi için.
+     */
+    void reset() {
+        mLastFrameNanos = -1;
+    }
+}
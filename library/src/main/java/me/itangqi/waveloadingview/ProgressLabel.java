@@ -0,0 +1,89 @@
+package me.itangqi.waveloadingview;
+
+/**
+ * İlerleme yüzdesini "{p}%" gibi bir biçimden, her seferinde yeni String oluşturmadan tekrar kullanılan
+ * bir char[] tampona yazar.
+ */
+final class ProgressLabel {
+    static final String PLACEHOLDER = "{p}";
+    // İşaret dahil bir int'in en fazla basamak sayısı.
+    private static final int MAX_DIGITS = 11;
+
+    private final String mFormat;
+    private final char[] mSuffix;
+    private final int mPrefixLength;
+    private final char[] mBuffer;
+    private final boolean mHasPlaceholder;
+    private int mLength;
+    private int mValue;
+    private boolean mHasValue;
+
+    /**
+     * @param format Değerin yerine {@link #PLACEHOLDER} yazılan biçim, ör. "{p}%"
+     */
+    ProgressLabel(String format) {
+        mFormat = format;
+        int index = format.indexOf(PLACEHOLDER);
+        mHasPlaceholder = index >= 0;
+        String prefix = mHasPlaceholder ? format.substring(0, index) : format;
+        mSuffix = mHasPlaceholder ? format.substring(index + PLACEHOLDER.length()).toCharArray() : new char[0];
+        mPrefixLength = prefix.length();
+        mBuffer = new char[mPrefixLength + MAX_DIGITS + mSuffix.length];
+        prefix.getChars(0, mPrefixLength, mBuffer, 0);
+        mLength = mPrefixLength;
+    }
+
+    String getFormat() {
+        return mFormat;
+    }
+
+    /**
+     * Değeri tampona yazar.
+     *
+     * @return Metin değiştiyse true
+     */
+    boolean setValue(int value) {
+        if (mHasValue && mValue == value) {
+            return false;
+        }
+        boolean first = !mHasValue;
+        mHasValue = true;
+        mValue = value;
+        if (!mHasPlaceholder) {
+            return first;
+        }
+        int pos = mPrefixLength;
+        long remaining = value;
+        if (remaining < 0) {
+            mBuffer[pos++] = '-';
+            remaining = -remaining;
+        }
+        int digits = 1;
+        for (long t = remaining; t >= 10; t /= 10) {
+            digits++;
+        }
+        for (int i = pos + digits - 1; i >= pos; i--) {
+            mBuffer[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        pos += digits;
+        System.arraycopy(mSuffix, 0, mBuffer, pos, mSuffix.length);
+        mLength = pos + mSuffix.length;
+        return true;
+    }
+
+    int getValue() {
+        return mValue;
+    }
+
+    /**
+     * Metnin bulunduğu tampon; sadece ilk {@link #getLength()} karakteri geçerlidir.
+     */
+    char[] getText() {
+        return mBuffer;
+    }
+
+    int getLength() {
+        return mLength;
+    }
+}
@@ -0,0 +1,45 @@
+package me.itangqi.waveloadingview;
+
+/**
+ * Doğrusal ara değerlemeli, paylaşılan sinüs tablosu.
+ * <p>
+ * Açı radyan yerine tam tur cinsindendir (1 tur = 2π), böylece dalga boyuna bölmek yeterlidir.
+ * 1024 girdiyle en büyük hata ~5e-6'dır; 1080 piksellik bir View'da piksel altı bile değildir.
+ */
+final class SineTable {
+    private static final int SIZE = 1024;
+    private static final int MASK = SIZE - 1;
+    private static final float[] TABLE = new float[SIZE + 1];
+
+    static {
+        for (int i = 0; i <= SIZE; i++) {
+            TABLE[i] = (float) Math.sin(2.0 * Math.PI * i / SIZE);
+        }
+    }
+
+    private SineTable() {
+    }
+
+    /**
+     * @param turns Tam tur cinsinden açı, negatif olabilir
+     * @return sin(2π * turns)
+     */
+    static float sin(float turns) {
+        float index = turns * SIZE;
+        int i = (int) index;
+        if (index < i) {
+            i--;
+        }
+        float fraction = index - i;
+        i &= MASK;
+        return TABLE[i] + (TABLE[i + 1] - TABLE[i]) * fraction;
+    }
+
+    /**
+     * @param turns Tam tur cinsinden açı, negatif olabilir
+     * @return cos(2π * turns)
+     */
+    static float cos(float turns) {
+        return sin(turns + 0.25f);
+    }
+}
@@ -0,0 +1,61 @@
+package me.itangqi.waveloadingview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+
+/**
+ * Karelar arasında değişmeyen çizimlerin (kenarlık, arka plan, başlıklar) önceden çizildiği bitmap katmanı.
+ * <p>
+ * Katman sadece geçersiz kılındıktan sonraki ilk karede yeniden kaydedilir; diğer karelerde tek bir
+ * drawBitmap() ile tuvale aktarılır. Boyut değişmedikçe aynı bitmap yeniden kullanılır.
+ */
+final class StaticLayer {
+    private final Canvas mCanvas = new Canvas();
+    private Bitmap mBitmap;
+    private boolean mDirty = true;
+
+    void invalidate() {
+        mDirty = true;
+    }
+
+    boolean isDirty() {
+        return mDirty || mBitmap == null;
+    }
+
+    /**
+     * Katmanı temizler ve üzerine çizim yapılacak tuvali döner.
+     * Çizim bittiğinde {@link #endRecording()} çağrılmalıdır.
+     */
+    Canvas beginRecording(int width, int height) {
+        if (mBitmap != null && mBitmap.getWidth() == width && mBitmap.getHeight() == height) {
+            mBitmap.eraseColor(Color.TRANSPARENT);
+        } else {
+            mBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            mCanvas.setBitmap(mBitmap);
+        }
+        return mCanvas;
+    }
+
+    int getByteCount() {
+        return mBitmap == null ? 0 : mBitmap.getByteCount();
+    }
+
+    void endRecording() {
+        mDirty = false;
+    }
+
+    void draw(Canvas canvas) {
+        canvas.drawBitmap(mBitmap, 0, 0, null);
+    }
+
+    /**
+     * Bitmap'i bırakır; bir sonraki kullanımda yeniden oluşturulur.
+     */
+    void release() {
+        // Bitmap'i recycle etmiyoruz; hâlâ bir display list tarafından kullanılıyor olabilir.
+        mCanvas.setBitmap(null);
+        mBitmap = null;
+        mDirty = true;
+    }
+}
@@ -0,0 +1,114 @@
+package me.itangqi.waveloadingview;
+
+import android.os.Build;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tek bir başlık için metin düzenlerini önbelleğe alır.
+ * <p>
+ * Yüzde sayacı gibi sürekli tekrar eden metinlerin düzenleri yeniden ölçülmeden kullanılır. Yazı boyutu,
+ * genişlik, satır sayısı veya kısaltma ayarı değiştiğinde önbellek temizlenir.
+ */
+final class TitleLayoutCache {
+    // Saklanan en son kullanılmış düzen sayısı.
+    private static final int MAX_ENTRIES = 16;
+
+    private final TextPaint mPaint;
+    private final TextPaint mStrokePaint;
+    private final LinkedHashMap<String, Entry> mEntries =
+            new LinkedHashMap<String, Entry>(MAX_ENTRIES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            };
+    private float mTextSize = -1;
+    private float mStrokeTextSize = -1;
+    private int mWidth = -1;
+    private int mMaxLines;
+    private TextUtils.TruncateAt mEllipsize;
+
+    TitleLayoutCache(TextPaint paint, TextPaint strokePaint) {
+        mPaint = paint;
+        mStrokePaint = strokePaint;
+    }
+
+    /**
+     * Metnin düzenini döner; önbellekte yoksa oluşturur.
+     *
+     * @param width     Düzenin genişliği, metin bu genişlikte ortalanır
+     * @param maxLines  En fazla satır sayısı
+     * @param ellipsize Sığmayan metnin nereden kısaltılacağı; null ise kesilir
+     */
+    Entry obtain(String text, int width, int maxLines, TextUtils.TruncateAt ellipsize) {
+        if (mTextSize != mPaint.getTextSize() || mStrokeTextSize != mStrokePaint.getTextSize()
+                || mWidth != width || mMaxLines != maxLines || mEllipsize != ellipsize) {
+            mEntries.clear();
+            mTextSize = mPaint.getTextSize();
+            mStrokeTextSize = mStrokePaint.getTextSize();
+            mWidth = width;
+            mMaxLines = maxLines;
+            mEllipsize = ellipsize;
+        }
+        Entry entry = mEntries.get(text);
+        if (entry == null) {
+            entry = new Entry(buildLayout(text, mPaint, width, maxLines, ellipsize),
+                    buildLayout(text, mStrokePaint, width, maxLines, ellipsize));
+            mEntries.put(text, entry);
+        }
+        return entry;
+    }
+
+    private static StaticLayout buildLayout(CharSequence text, TextPaint paint, int width, int maxLines,
+                                            TextUtils.TruncateAt ellipsize) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            return StaticLayout.Builder.obtain(text, 0, text.length(), paint, width)
+                    .setAlignment(Layout.Alignment.ALIGN_CENTER)
+                    .setIncludePad(false)
+                    .setMaxLines(maxLines)
+                    .setEllipsize(ellipsize)
+                    .build();
+        }
+        // Eski sürümlerde satır sınırı yok; fazla satırlar atılır, son satır elle kısaltılır.
+        StaticLayout layout = new StaticLayout(text, paint, width, Layout.Alignment.ALIGN_CENTER, 1f, 0f, false);
+        if (layout.getLineCount() <= maxLines) {
+            return layout;
+        }
+        int lastLineStart = layout.getLineStart(maxLines - 1);
+        CharSequence lastLine;
+        if (ellipsize != null) {
+            lastLine = TextUtils.ellipsize(text.subSequence(lastLineStart, text.length()), paint, width, ellipsize);
+        } else {
+            lastLine = text.subSequence(lastLineStart, layout.getLineEnd(maxLines - 1));
+        }
+        return new StaticLayout(TextUtils.concat(text.subSequence(0, lastLineStart), lastLine), paint, width,
+                Layout.Alignment.ALIGN_CENTER, 1f, 0f, false);
+    }
+
+    /**
+     * Bir metnin dolgu ve kontur düzenleri.
+     */
+    static final class Entry {
+        private final StaticLayout mLayout;
+        private final StaticLayout mStrokeLayout;
+
+        private Entry(StaticLayout layout, StaticLayout strokeLayout) {
+            mLayout = layout;
+            mStrokeLayout = strokeLayout;
+        }
+
+        StaticLayout getLayout() {
+            return mLayout;
+        }
+
+        StaticLayout getStrokeLayout() {
+            return mStrokeLayout;
+        }
+    }
+}
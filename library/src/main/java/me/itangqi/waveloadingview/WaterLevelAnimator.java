@@ -0,0 +1,97 @@
+package me.itangqi.waveloadingview;
+
+/**
+ * Su seviyesini kritik sönümlü bir yay ile hedefe taşır.
+ * <p>
+ * Animasyon sürerken hedef değişirse mevcut hız korunur, böylece seviye sıçramadan yeni hedefe yönelir.
+ * Kritik sönüm sayesinde hedefi aşmaz ve salınım yapmaz.
+ */
+final class WaterLevelAnimator {
+    // Doğal frekans (rad/s); ~1 saniyede hedefe yerleşir.
+    private static final float DEFAULT_FREQUENCY = 6.5f;
+    private static final float VALUE_THRESHOLD = 0.0005f;
+    private static final float VELOCITY_THRESHOLD = 0.005f;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final float mFrequency;
+    private float mValue;
+    private float mVelocity;
+    private float mTarget;
+    private boolean mRunning;
+    private long mLastFrameNanos = -1;
+
+    WaterLevelAnimator() {
+        this(DEFAULT_FREQUENCY);
+    }
+
+    WaterLevelAnimator(float frequency) {
+        mFrequency = frequency;
+    }
+
+    /**
+     * Animasyonu durdurur ve değeri doğrudan ayarlar.
+     */
+    void setValue(float value) {
+        mValue = value;
+        mTarget = value;
+        mVelocity = 0;
+        mRunning = false;
+    }
+
+    /**
+     * @return Hedef değişmediyse false.
+     */
+    boolean animateTo(float target) {
+        if (target == mTarget) {
+            return false;
+        }
+        mTarget = target;
+        if (!mRunning) {
+            mRunning = true;
+            mLastFrameNanos = -1;
+        }
+        return true;
+    }
+
+    /**
+     * @return Animasyon devam ediyorsa true.
+     */
+    boolean doFrame(long frameTimeNanos) {
+        if (!mRunning) {
+            return false;
+        }
+        if (mLastFrameNanos < 0) {
+            mLastFrameNanos = frameTimeNanos;
+            return true;
+        }
+        double dt = (frameTimeNanos - mLastFrameNanos) / NANOS_PER_SECOND;
+        mLastFrameNanos = frameTimeNanos;
+
+        // x(t) = (x0 + (v0 + w * x0) * t) * e^(-w * t)
+        double x = mValue - mTarget;
+        double a = mVelocity + mFrequency * x;
+        double decay = Math.exp(-mFrequency * dt);
+        double newX = (x + a * dt) * decay;
+        double newVelocity = (mVelocity - mFrequency * a * dt) * decay;
+
+        if (Math.abs(newX) < VALUE_THRESHOLD && Math.abs(newVelocity) < VELOCITY_THRESHOLD) {
+            setValue(mTarget);
+            return false;
+        }
+        mValue = (float) (mTarget + newX);
+        mVelocity = (float) newVelocity;
+        return true;
+    }
+
+    float getValue() {
+        return mValue;
+    }
+
+    float getTarget() {
+        return mTarget;
+    }
+
+    boolean isRunning() {
+        return mRunning;
+    }
+}
@@ -0,0 +1,1688 @@
+package me.itangqi.waveloadingview;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.Shader;
+import android.graphics.drawable.Animatable;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.view.View;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import me.itangqi.waveloadingview.WaveLoadingView.RenderMode;
+import me.itangqi.waveloadingview.WaveLoadingView.ShapeType;
+import me.itangqi.waveloadingview.WaveLoadingView.TextureMode;
+
+/**
+ * WaveLoadingView'ın çizim ve animasyon çekirdeği. Ayrı bir View eklemeden dalgayı mevcut bir View'ın
+ * arka planı, ProgressBar'ın ilerleme Drawable'ı veya bir ImageView'ın içeriği olarak göstermek için
+ * kullanılabilir:
+ * <pre>
+ * WaveDrawable wave = new WaveDrawable(context);
+ * wave.setShapeType(WaveLoadingView.ShapeType.SQUARE);
+ * button.setBackground(wave);
+ * wave.start();
+ * </pre>
+ * Şekil sınırların (bounds) içine çizilir. Seviye ({@link #setLevel(int)}, 0-10000) ilerleme değerine çevrilir;
+ * bu sayede ProgressBar'ın ilerlemesini doğrudan izler.
+ * <p>
+ * Dalga {@link #start()} ile başlatılır ve {@link #stop()} ile durdurulur; Drawable görünmez olduğunda
+ * ({@link #setVisible(boolean, boolean)}) animasyon kendiliğinden duraklatılır. Drawable artık
+ * kullanılmayacaksa animasyon durdurulmalı ve paylaşılan dalga dokusu {@link #release()} ile havuza
+ * bırakılmalıdır. Ana thread'den kullanılmalıdır.
+ */
+public class WaveDrawable extends Drawable implements Animatable {
+    /**
+     * +------------------------+
+     * | wave length - 波长      |__________
+     * |   /\          |   /\   |  |
+     * |  /  \         |  /  \  | amplitude - 振幅
+     * | /    \        | /    \ |  |
+     * |/      \       |/      \|__|_______
+     * |        \      /        |  |
+     * |         \    /         |  |
+     * |          \  /          |  |
+     * |           \/           | water level - 水位
+     * |                        |  |
+     * |                        |  |
+     * +------------------------+__|_______
+     */
+    static final float DEFAULT_AMPLITUDE_RATIO = 0.1f;
+    static final float DEFAULT_WATER_LEVEL_RATIO = 0.5f;
+    static final float DEFAULT_WAVE_LENGTH_RATIO = 1.0f;
+    static final int DEFAULT_WAVE_PROGRESS_VALUE = 50;
+    static final int DEFAULT_TITLE_MAX_LINES = 1;
+
+    // Kısmi yeniden çizimde kenar yumuşatma için dalga bandına eklenen pay.
+    private static final int WAVE_BAND_MARGIN = 2;
+    private static final long NANOS_PER_MILLI = 1000000L;
+    private static final long DEFAULT_ANIM_DURATION = 1000;
+    private static final float DEFAULT_WAVE_SHIFT_RATIO = 0.0f;
+
+    // Özellik değişikliklerinin gerektirdiği işler; bir düzenleme sürüyorsa endEdit()'e kadar biriktirilir.
+    private static final int UPDATE_INVALIDATE = 1;
+    private static final int UPDATE_TEXTURE = 1 << 1;
+    private static final int UPDATE_SHADER_MATRIX = 1 << 2;
+    private static final int UPDATE_GEOMETRY = 1 << 3;
+    private static final int UPDATE_TITLES = 1 << 4;
+    private static final int UPDATE_PROGRESS_LABEL = 1 << 5;
+    private static final int UPDATE_BACKGROUND_LAYER = 1 << 6;
+    private static final int UPDATE_TITLE_LAYER = 1 << 7;
+
+    // Dalga animasyonunun durumları.
+    private static final int WAVE_ANIM_STOPPED = 0;
+    private static final int WAVE_ANIM_RUNNING = 1;
+    private static final int WAVE_ANIM_PAUSED = 2;
+
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    private final Context mContext;
+    private final Resources mResources;
+    // Özelliklerin başlangıç değerleri; başlık boyaları oluşturulana kadar getter'lar buradan okur.
+    private final WaveStyle mStyle;
+
+    // Sınırların boyutu; şekil ve dokular bu boyuta göre hazırlanır.
+    private int mWidth;
+    private int mHeight;
+
+    // Dinamik Özellikler.
+    private float mAmplitudeRatio;
+    private int mWaveBgColor;
+    private int mWaveColor;
+    private RenderMode mRenderMode = RenderMode.BITMAP;
+    private TextureMode mTextureMode = TextureMode.FULL;
+
+    // Özellikler.
+    private String mTopTitle;
+    private String mCenterTitle;
+    private String mBottomTitle;
+    private float mDefaultWaterLevel;
+    private float mWaterLevelRatio = 1f;
+    private float mWaveShiftRatio = DEFAULT_WAVE_SHIFT_RATIO;
+    private int mProgressValue = DEFAULT_WAVE_PROGRESS_VALUE;
+    // Dalga karelerinde sadece dalga bandını geçersiz kılar.
+    private boolean mPartialInvalidate;
+    // Son geçersiz kılınan dalga bandı; henüz yoksa -1.
+    private int mWaveBandTop = -1;
+    private int mWaveBandBottom = -1;
+    // Çizim sırasındaki kırpma alanı; kısmi yeniden çizimde kirli alanın dışındaki başlıklar atlanır.
+    private final Rect mClipBounds = new Rect();
+    private boolean mClipActive;
+    // Kenarlık, arka plan ve başlıkları önceden çizilmiş bitmap katmanlarından aktarır.
+    private boolean mStaticLayerCache;
+    private final StaticLayer mBackgroundLayer = new StaticLayer();
+    private final StaticLayer mTitleLayer = new StaticLayer();
+    // setAlpha() ve setColorFilter() için çizimin aktarıldığı katmanın boyası; gerekene kadar null.
+    private int mAlpha = 255;
+    private ColorFilter mColorFilter;
+    private Paint mLayerPaint;
+
+    // Tekrarlanan dalgalar için gölgelendirici.
+    private BitmapShader mWaveShader;
+    // PATH modunda dalgayı çizer.
+    private final WavePathRenderer mPathRenderer = new WavePathRenderer();
+    // PATH modunda yazılım tuvaline düşüldüyse true; o andan sonra doku da güncel tutulur.
+    private boolean mPathFallback;
+    // Havuzdan alınan, diğer Drawable'larla paylaşılan dalga dokusu.
+    // Dokuların alındığı havuz; ana thread dışında çizen Drawable'lar kendi havuzlarını kullanır.
+    private WaveTexturePool mTexturePool = WaveTexturePool.getInstance();
+    private WaveTexturePool.Texture mWaveTexture;
+    // Doku arka planda oluşturuluyorsa true; o sırada eski doku veya düz bir dolgu gösterilir.
+    private boolean mAsyncTexture;
+    private boolean mTexturePending;
+    // Her yeni doku isteğinde artırılır; eski istekler bu sayede iptal edilir.
+    private final AtomicInteger mTextureGeneration = new AtomicInteger();
+    private final WaveTextureTask.Callback mTextureCallback = new WaveTextureTask.Callback() {
+        @Override
+        public void onTextureGenerated(WaveTextureTask task) {
+            applyGeneratedTexture(task);
+        }
+    };
+    private Paint mPlaceholderPaint;
+    // Havuzdaki referansı bırakılan, fakat burada tutulmaya devam eden doku varsa true.
+    private boolean mTextureDetached;
+    // Gölgelendirme matrisi.
+    private final Matrix mShaderMatrix = new Matrix();
+    // Önceden hesaplanan şekil geometrisi; draw() içinde nesne ayırmamak için.
+    private final WaveShape mShape;
+    // Önceden hesaplanan başlık konumları.
+    private float mTopTitleTop;
+    private float mCenterTitleTop;
+    private float mBottomTitleTop;
+    // Başlıkların metin düzenleri; tekrar eden metinler için önbellekten gelir.
+    private TitleLayoutCache mTopTitleCache;
+    private TitleLayoutCache mCenterTitleCache;
+    private TitleLayoutCache mBottomTitleCache;
+    private TitleLayoutCache.Entry mTopTitleLayout;
+    private TitleLayoutCache.Entry mCenterTitleLayout;
+    private TitleLayoutCache.Entry mBottomTitleLayout;
+    // Orta başlık yerine çizilen, su seviyesini izleyen ilerleme etiketi; kapalıysa null.
+    private ProgressLabel mProgressLabel;
+    private float mProgressLabelX;
+    private float mProgressLabelY;
+    private float mProgressLabelTop;
+    private float mProgressLabelBottom;
+    private int mTitleMaxLines = DEFAULT_TITLE_MAX_LINES;
+    private TextUtils.TruncateAt mTitleEllipsize = TextUtils.TruncateAt.END;
+    // Dalga çizme noktası.
+    private final Paint mWavePaint;
+    //Dalga arka planı çizme noktası.
+    private final Paint mWaveBgPaint;
+    // Sınırı çizme noktası.
+    private final Paint mBorderPaint;
+    // Başlığı çizme noktası.
+    private TextPaint mTopTitlePaint;
+    private TextPaint mBottomTitlePaint;
+    private TextPaint mCenterTitlePaint;
+
+    private TextPaint mTopTitleStrokePaint;
+    private TextPaint mBottomTitleStrokePaint;
+    private TextPaint mCenterTitleStrokePaint;
+
+    // Animasyon. Tüm Drawable'lar WaveFrameClock üzerinden tek bir kare geri çağrısını paylaşır.
+    private int mWaveAnimState = WAVE_ANIM_STOPPED;
+    private long mAnimDuration = DEFAULT_ANIM_DURATION;
+    // Dalga animasyonunun başladığı kare zamanı; bir sonraki karede belirlenecekse -1.
+    private long mWaveStartNanos = -1;
+    // Animasyon başladığında dalganın bulunduğu konum (devam ettirme ve süre değişimi için).
+    private float mWaveShiftOffset;
+    // Su seviyesi animasyonu; yeni hedefler devam eden animasyonu yeniden yönlendirir.
+    private final WaterLevelAnimator mWaterLevelAnimator = new WaterLevelAnimator();
+    // postProgress() ile arka plan thread'lerinden gelen en son değer.
+    private final AtomicInteger mPendingProgress = new AtomicInteger();
+    private final AtomicBoolean mPendingProgressPosted = new AtomicBoolean();
+    private final Runnable mApplyPendingProgress = new Runnable() {
+        @Override
+        public void run() {
+            mPendingProgressPosted.set(false);
+            setProgressValue(mPendingProgress.get());
+        }
+    };
+    private boolean mFrameCallbackAdded;
+    // Hedef kare hızına göre kare atlatır.
+    private final FrameRateController mFrameRateController = new FrameRateController();
+    private final WaveFrameClock.Callback mFrameCallback = new WaveFrameClock.Callback() {
+        @Override
+        public void onFrame(long frameTimeNanos) {
+            doAnimationFrame(frameTimeNanos);
+        }
+    };
+    // Animasyon Drawable görünmediği için otomatik olarak duraklatıldıysa true.
+    private boolean mAutoPaused;
+
+    // Ölçümler kapalıyken null; çizim yolu bu durumda hiçbir ölçüm yapmaz.
+    private WaveMetrics mMetrics;
+
+    private int mEditDepth;
+    private int mPendingUpdates;
+
+    public WaveDrawable(Context context) {
+        this(context, WaveStyle.obtain(context, null, 0));
+    }
+
+    WaveDrawable(Context context, WaveStyle style) {
+        mContext = context;
+        mResources = context.getResources();
+        mStyle = style;
+        mWavePaint = new Paint();
+        //ANTI_ALIAS_FLAG, çizimin kenarlarını yumuşatır.
+        // fakat şeklin iç kısmı üzerinde hiçbir etkisi yoktur.Sadece dış çeperi yumuşatır.
+        mWavePaint.setAntiAlias(true);
+        mWaveBgPaint = new Paint();
+        mWaveBgPaint.setAntiAlias(true);
+
+        // Şekli İlkledik.
+        mShape = new WaveShape(style);
+
+        // Dalgayı İlkledik.
+        mWaveColor = style.mWaveColor;
+        mWaveBgColor = style.mWaveBgColor;
+
+        mWaveBgPaint.setColor(mWaveBgColor);
+
+        // Dalga Sıklık Oranını İlkledik.
+        mAmplitudeRatio = style.mAmplitudeRatio;
+
+        // Progress'i İlkledik. Su seviyesi animasyonsuz başlar; kare saati start() veya setVisible() ile kullanılır.
+        mProgressValue = style.mProgressValue;
+        mWaterLevelRatio = (float) mProgressValue / 100;
+        mWaterLevelAnimator.setValue(mWaterLevelRatio);
+
+        // Çizim ve Doku Modlarını İlkledik.
+        mRenderMode = style.mRenderMode;
+        mTextureMode = style.mTextureMode;
+
+        // Kısmi Yeniden Çizimi İlkledik.
+        mPartialInvalidate = style.mPartialInvalidate;
+
+        // Kare Hızını İlkledik.
+        mFrameRateController.setFrameRate(style.mFrameRate);
+        mFrameRateController.setAdaptive(style.mAdaptiveFrameRate);
+
+        // Sabit Katman Önbelleğini ve Arka Planda Doku Oluşturmayı İlkledik.
+        mStaticLayerCache = style.mStaticLayerCache;
+        mAsyncTexture = style.mAsyncTexture;
+
+        // Kenarlığı İlkledik.
+        mBorderPaint = new Paint();
+        mBorderPaint.setAntiAlias(true);
+        mBorderPaint.setStyle(Paint.Style.STROKE);
+        mBorderPaint.setStrokeWidth(style.mBorderWidth);
+        mBorderPaint.setColor(style.mBorderColor);
+
+        // Başlıkları İlkledik. Boyalar sadece bir başlık veya ilerleme etiketi olduğunda oluşturulur.
+        mTopTitle = style.mTopTitle;
+        mCenterTitle = style.mCenterTitle;
+        mBottomTitle = style.mBottomTitle;
+        if (style.hasTitles()) {
+            ensureTitlePaints();
+        }
+
+        // İlerleme Etiketini İlkledik.
+        if (!TextUtils.isEmpty(style.mProgressLabel)) {
+            mProgressLabel = new ProgressLabel(style.mProgressLabel);
+        }
+
+        // Başlık Satırlarını İlkledik.
+        mTitleMaxLines = style.mTitleMaxLines;
+        mTitleEllipsize = style.mTitleEllipsize;
+    }
+
+    /**
+     * Başlık boyalarını ve düzen önbelleklerini ilk gerektiklerinde stildeki değerlerle oluşturur.
+     */
+    private void ensureTitlePaints() {
+        if (mTopTitlePaint != null) {
+            return;
+        }
+        WaveStyle style = mStyle;
+        mTopTitlePaint = createTitlePaint(style.mTopTitleColor, style.mTopTitleSize);
+        mTopTitleStrokePaint = createTitleStrokePaint(style.mTopTitleStrokeColor, style.mTopTitleStrokeWidth,
+                style.mTopTitleSize);
+        mTopTitleCache = new TitleLayoutCache(mTopTitlePaint, mTopTitleStrokePaint);
+
+        mCenterTitlePaint = createTitlePaint(style.mCenterTitleColor, style.mCenterTitleSize);
+        mCenterTitleStrokePaint = createTitleStrokePaint(style.mCenterTitleStrokeColor, style.mCenterTitleStrokeWidth,
+                style.mCenterTitleSize);
+        mCenterTitleCache = new TitleLayoutCache(mCenterTitlePaint, mCenterTitleStrokePaint);
+
+        mBottomTitlePaint = createTitlePaint(style.mBottomTitleColor, style.mBottomTitleSize);
+        mBottomTitleStrokePaint = createTitleStrokePaint(style.mBottomTitleStrokeColor, style.mBottomTitleStrokeWidth,
+                style.mBottomTitleSize);
+        mBottomTitleCache = new TitleLayoutCache(mBottomTitlePaint, mBottomTitleStrokePaint);
+    }
+
+    private static TextPaint createTitlePaint(int color, float textSize) {
+        TextPaint paint = new TextPaint();
+        paint.setColor(color);
+        paint.setStyle(Paint.Style.FILL);
+        paint.setAntiAlias(true);
+        paint.setTextSize(textSize);
+        return paint;
+    }
+
+    private static TextPaint createTitleStrokePaint(int color, float strokeWidth, float textSize) {
+        TextPaint paint = new TextPaint();
+        paint.setColor(color);
+        paint.setStrokeWidth(strokeWidth);
+        paint.setStyle(Paint.Style.STROKE);
+        paint.setAntiAlias(true);
+        paint.setTextSize(textSize);
+        return paint;
+    }
+
+    @Override
+    public void draw(Canvas canvas) {
+        if (mMetrics == null) {
+            drawInBounds(canvas);
+            return;
+        }
+        // Kare saati sadece görünürken çalışır; görünmezken yapılan iş bu çizimlerdir.
+        if (!isVisible()) {
+            mMetrics.recordInvisibleFrame();
+        }
+        long start = System.nanoTime();
+        drawInBounds(canvas);
+        mMetrics.recordDraw(System.nanoTime() - start);
+    }
+
+    /**
+     * Saydamlık veya renk filtresi varsa çizimi bir katmana aktarır; sınırlar kaydırılmışsa tuvali kaydırır.
+     */
+    private void drawInBounds(Canvas canvas) {
+        Rect bounds = getBounds();
+        boolean useLayer = mAlpha < 255 || mColorFilter != null;
+        boolean translate = bounds.left != 0 || bounds.top != 0;
+        if (!useLayer && !translate) {
+            drawContent(canvas);
+            return;
+        }
+        int saveCount;
+        if (useLayer) {
+            if (mLayerPaint == null) {
+                mLayerPaint = new Paint();
+            }
+            mLayerPaint.setAlpha(mAlpha);
+            mLayerPaint.setColorFilter(mColorFilter);
+            saveCount = canvas.saveLayer(bounds.left, bounds.top, bounds.right, bounds.bottom, mLayerPaint,
+                    Canvas.ALL_SAVE_FLAG);
+        } else {
+            saveCount = canvas.save();
+        }
+        canvas.translate(bounds.left, bounds.top);
+        drawContent(canvas);
+        canvas.restoreToCount(saveCount);
+    }
+
+    private void drawContent(Canvas canvas) {
+        boolean drawWithPaths = shouldDrawWithPaths(canvas);
+        if (!drawWithPaths && mWaveShader == null && !mTexturePending) {
+            if (mRenderMode == RenderMode.PATH) {
+                // Yazılım tuvaline düşüldü; dokuyu şimdi oluştur.
+                mPathFallback = true;
+            }
+            // release() sonrasında tekrar çiziliyorsa doku da yeniden alınır.
+            updateWaveShader();
+        }
+        // Draw Wave.
+        // Modify paint shader according to mShowWave state.
+        if (drawWithPaths || mWaveShader != null || mTexturePending) {
+            // First call after mShowWave, assign it to our paint.
+            if (mWaveShader != null && mWavePaint.getShader() == null) {
+                mWavePaint.setShader(mWaveShader);
+            }
+
+            // Kenarlık ve arka plan.
+            boolean useLayers = useStaticLayers();
+            if (useLayers) {
+                if (mBackgroundLayer.isDirty()) {
+                    mShape.drawBackground(mBackgroundLayer.beginRecording(mWidth, mHeight),
+                            mWaveBgPaint, mBorderPaint);
+                    mBackgroundLayer.endRecording();
+                }
+                mBackgroundLayer.draw(canvas);
+            } else {
+                mShape.drawBackground(canvas, mWaveBgPaint, mBorderPaint);
+            }
+
+            // Gölgelendiriciyi waveShiftRatio ve waterLevelRatio'ya göre çevir.
+            // Bu, başlangıç konumlarına (x için waveShiftRatio, y için waterLevelRatio) karar verir.
+            if (drawWithPaths) {
+                drawWavePaths(canvas);
+            } else if (mWaveShader != null) {
+                mShape.drawWave(canvas, mWavePaint, mWaveShiftRatio * mWidth,
+                        (DEFAULT_WATER_LEVEL_RATIO - mWaterLevelRatio) * mHeight);
+            } else {
+                drawWavePlaceholder(canvas);
+            }
+
+            // Başlıklar dalganın üzerine çizilir.
+            if (useLayers) {
+                mClipActive = false;
+                if (hasTitles()) {
+                    if (mTitleLayer.isDirty()) {
+                        drawTitles(mTitleLayer.beginRecording(mWidth, mHeight));
+                        mTitleLayer.endRecording();
+                    }
+                    mTitleLayer.draw(canvas);
+                }
+            } else {
+                // Kısmi yeniden çizimde kirli alana girmeyen başlıklar tuvalde zaten duruyor.
+                mClipActive = mPartialInvalidate
+                        && (!canvas.getClipBounds(mClipBounds) || mClipBounds.height() < mHeight);
+                drawTitles(canvas);
+            }
+            // İlerleme etiketi her karede değişebildiği için katmana alınmaz.
+            if (mProgressLabel != null) {
+                drawProgressLabel(canvas);
+            }
+        } else {
+            mWavePaint.setShader(null);
+        }
+    }
+
+    /**
+     * Başlıkları çizer. Konumlar updateTitleLayout() içinde önceden hesaplanır.
+     */
+    private void drawTitles(Canvas canvas) {
+        if (mTopTitleLayout != null) {
+            drawTitle(canvas, mTopTitleLayout, mTopTitleTop, mTopTitleStrokePaint);
+        }
+        if (mCenterTitleLayout != null && mProgressLabel == null) {
+            drawTitle(canvas, mCenterTitleLayout, mCenterTitleTop, mCenterTitleStrokePaint);
+        }
+        if (mBottomTitleLayout != null) {
+            drawTitle(canvas, mBottomTitleLayout, mBottomTitleTop, mBottomTitleStrokePaint);
+        }
+    }
+
+    /**
+     * Başlığın önce kontorunu, sonra kendisini çizer. Kısmi yeniden çizimde kirli alana girmeyen
+     * başlıklar tuvalde zaten durduğu için atlanır.
+     */
+    private void drawTitle(Canvas canvas, TitleLayoutCache.Entry title, float top, Paint strokePaint) {
+        StaticLayout layout = title.getLayout();
+        float stroke = strokePaint.getStrokeWidth();
+        if (mClipActive && (top - stroke >= mClipBounds.bottom || top + layout.getHeight() + stroke <= mClipBounds.top)) {
+            return;
+        }
+        int saveCount = canvas.save();
+        canvas.translate(0, top);
+        // Varsayılan kontur rengi saydam; çizmeye gerek yok.
+        if (Color.alpha(strokePaint.getColor()) != 0) {
+            title.getStrokeLayout().draw(canvas);
+        }
+        layout.draw(canvas);
+        canvas.restoreToCount(saveCount);
+    }
+
+    /**
+     * İlerleme etiketini orta başlığın boyalarıyla, tampondan doğrudan çizer.
+     */
+    private void drawProgressLabel(Canvas canvas) {
+        if (mClipActive && (mProgressLabelTop >= mClipBounds.bottom || mProgressLabelBottom <= mClipBounds.top)) {
+            return;
+        }
+        char[] text = mProgressLabel.getText();
+        int length = mProgressLabel.getLength();
+        if (Color.alpha(mCenterTitleStrokePaint.getColor()) != 0) {
+            canvas.drawText(text, 0, length, mProgressLabelX, mProgressLabelY, mCenterTitleStrokePaint);
+        }
+        canvas.drawText(text, 0, length, mProgressLabelX, mProgressLabelY, mCenterTitlePaint);
+    }
+
+    /**
+     * Etiketi su seviyesine göre günceller; sadece metin değiştiğinde yeniden ölçülür.
+     *
+     * @return Metin değiştiyse true
+     */
+    private boolean updateProgressLabel() {
+        if (mProgressLabel == null || !mProgressLabel.setValue(Math.round(mWaterLevelRatio * 100))) {
+            return false;
+        }
+        mProgressLabelX = (mWidth - mCenterTitlePaint.measureText(mProgressLabel.getText(), 0,
+                mProgressLabel.getLength())) / 2;
+        return true;
+    }
+
+    /**
+     * İlerleme etiketinin konumunu boyut veya yazı boyutu değiştiğinde hesaplar.
+     */
+    private void updateProgressLabelLayout() {
+        if (mProgressLabel == null) {
+            return;
+        }
+        mProgressLabel.setValue(Math.round(mWaterLevelRatio * 100));
+        mProgressLabelX = (mWidth - mCenterTitlePaint.measureText(mProgressLabel.getText(), 0,
+                mProgressLabel.getLength())) / 2;
+        mProgressLabelY = mHeight / 2 - ((mCenterTitlePaint.descent() + mCenterTitlePaint.ascent()) / 2);
+        float stroke = mCenterTitleStrokePaint.getStrokeWidth();
+        mProgressLabelTop = mProgressLabelY + mCenterTitlePaint.ascent() - stroke;
+        mProgressLabelBottom = mProgressLabelY + mCenterTitlePaint.descent() + stroke;
+    }
+
+    private boolean hasTitles() {
+        return !TextUtils.isEmpty(mTopTitle) || !TextUtils.isEmpty(mCenterTitle) || !TextUtils.isEmpty(mBottomTitle);
+    }
+
+    private boolean useStaticLayers() {
+        return mStaticLayerCache && mWidth > 0 && mHeight > 0;
+    }
+
+    /**
+     * Dalga karesinden sonra yeniden çizilmesi gereken alanı geçersiz kılar.
+     * Kısmi yeniden çizimde bu alan, dalganın önceki ve şimdiki genlik bandının birleşimidir.
+     */
+    private void invalidateWave() {
+        int height = mHeight;
+        if (!mPartialInvalidate || height <= 0 || !canInvalidateRect()) {
+            // Bir sonraki kısmi geçersiz kılma önceki bandı bilmediği için tam yapılır.
+            mWaveBandTop = -1;
+            invalidateSelf();
+            return;
+        }
+        int top = Math.max(0, WaveMath.getWaveBandTop(height, mWaterLevelRatio, mAmplitudeRatio) - WAVE_BAND_MARGIN);
+        int bottom = Math.min(height,
+                WaveMath.getWaveBandBottom(height, mWaterLevelRatio, mAmplitudeRatio) + WAVE_BAND_MARGIN);
+        if (mWaveBandTop < 0) {
+            invalidateSelf();
+        } else {
+            invalidateRect(0, Math.min(top, mWaveBandTop), mWidth, Math.max(bottom, mWaveBandBottom));
+        }
+        mWaveBandTop = top;
+        mWaveBandBottom = bottom;
+    }
+
+    /**
+     * Sınırların içindeki bir alanı geçersiz kılar. Alan kullanılamıyorsa (bkz. {@link #canInvalidateRect()})
+     * Drawable'ın tamamı geçersiz kılınır.
+     */
+    private void invalidateRect(int left, int top, int right, int bottom) {
+        if (canInvalidateRect()) {
+            Rect bounds = getBounds();
+            ((View) getCallback()).invalidate(bounds.left + left, bounds.top + top, bounds.left + right,
+                    bounds.top + bottom);
+        } else {
+            invalidateSelf();
+        }
+    }
+
+    /**
+     * Drawable.Callback alan kabul etmediği için kirli alan sadece Drawable bir View'a bağlıysa verilebilir.
+     * Donanım hızlandırmalı çizimde View her karede tamamen kaydedildiği için alan sadece yazılımla çizilen
+     * pencerelerde veya {@link View#LAYER_TYPE_SOFTWARE} katmanlarında bir işe yarar; diğer durumlarda bant
+     * hesaplanmaz.
+     */
+    private boolean canInvalidateRect() {
+        Callback callback = getCallback();
+        if (!(callback instanceof View)) {
+            return false;
+        }
+        View view = (View) callback;
+        return !view.isHardwareAccelerated() || view.getLayerType() == View.LAYER_TYPE_SOFTWARE;
+    }
+
+    /**
+     * Dalga dokusu arka planda oluşturulurken suyu dalgasız, düz bir dolgu olarak çizer.
+     */
+    private void drawWavePlaceholder(Canvas canvas) {
+        if (mPlaceholderPaint == null) {
+            mPlaceholderPaint = new Paint();
+            mPlaceholderPaint.setAntiAlias(true);
+        }
+        mPlaceholderPaint.setColor(mWaveColor);
+        int saveCount = canvas.save();
+        canvas.clipRect(0, (1f - mWaterLevelRatio) * mHeight, mWidth, mHeight);
+        mShape.drawWave(canvas, mPlaceholderPaint, 0, 0);
+        canvas.restoreToCount(saveCount);
+    }
+
+    private boolean shouldDrawWithPaths(Canvas canvas) {
+        return mRenderMode == RenderMode.PATH
+                && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2
+                && canvas.isHardwareAccelerated();
+    }
+
+    /**
+     * Dalgayı PATH modunda şeklin içine çizer.
+     */
+    private void drawWavePaths(Canvas canvas) {
+        int saveCount = canvas.save();
+        mShape.clip(canvas);
+        mPathRenderer.draw(canvas, mWidth, mHeight, mAmplitudeRatio, mWaveColor,
+                mWaveShiftRatio, mWaterLevelRatio);
+        canvas.restoreToCount(saveCount);
+    }
+
+    /**
+     * Şekil geometrisini boyut, şekil türü veya kenarlık değiştiğinde bir kez hesaplar.
+     */
+    private void updateShapeGeometry() {
+        mBackgroundLayer.invalidate();
+        mShape.update(mWidth, mHeight, mBorderPaint.getStrokeWidth());
+    }
+
+    /**
+     * Eşkenar Üçgen Çiz
+     *
+     * @param path      Üçgenin yazılacağı yol, önce sıfırlanır
+     * @param width     Üçgen genişliği
+     * @param height    Üçgenin yüksekliği
+     * @param direction Üçgenin yönü
+     */
+    static void buildEquilateralTriangle(Path path, int width, int height, int direction) {
+        // Başlangıç noktası sol alt köşedir.
+        int x1 = 0, y1 = height;
+        int x2 = 0, y2 = 0, x3 = 0, y3 = 0;
+        // KUZEY
+        if (direction == 0) {
+            x2 = x1 + width;
+            y2 = y1;
+            x3 = x1 + (width / 2);
+            y3 = (int) (height - Math.sqrt(3.0) / 2 * height);
+        }
+        // GÜNEY
+        else if (direction == 1) {
+            x2 = x1;
+            y2 = y1 - height;
+            x3 = x1 + width;
+            y3 = y1 - height;
+            x1 = x1 + (width / 2);
+            y1 = (int) (Math.sqrt(3.0) / 2 * height);
+        }
+        // DOĞU
+        else if (direction == 2) {
+            x2 = x1;
+            y2 = y1 - height;
+            x3 = (int) (Math.sqrt(3.0) / 2 * width);
+            y3 = y1 / 2;
+        }
+        // BATI
+        else if (direction == 3) {
+            x2 = x1 + width;
+            y2 = y1 - height;
+            x3 = x1 + width;
+            y3 = y1;
+            x1 = (int) (width - Math.sqrt(3.0) / 2 * width);
+            y1 = y1 / 2;
+        }
+
+        path.reset();
+        path.moveTo(x1, y1);
+        path.lineTo(x2, y2);
+        path.lineTo(x3, y3);
+    }
+
+    /**
+     * Başlıkların düzenlerini ve konumlarını boyut, metin veya yazı ayarları değiştiğinde bir kez hesaplar.
+     */
+    private void updateTitleLayout() {
+        mTitleLayer.invalidate();
+        int width = mWidth;
+        int height = mHeight;
+        mTopTitleLayout = obtainTitleLayout(mTopTitleCache, mTopTitle, width);
+        if (mTopTitleLayout != null) {
+            // İlk satırın taban çizgisi yüksekliğin %20'sinde.
+            mTopTitleTop = height * 2 / 10.0f - mTopTitleLayout.getLayout().getLineBaseline(0);
+        }
+        mCenterTitleLayout = obtainTitleLayout(mCenterTitleCache, mCenterTitle, width);
+        if (mCenterTitleLayout != null) {
+            mCenterTitleTop = (height - mCenterTitleLayout.getLayout().getHeight()) / 2f;
+        }
+        mBottomTitleLayout = obtainTitleLayout(mBottomTitleCache, mBottomTitle, width);
+        if (mBottomTitleLayout != null) {
+            mBottomTitleTop = height * 8 / 10.0f - mBottomTitleLayout.getLayout().getHeight() / 2f;
+        }
+        updateProgressLabelLayout();
+    }
+
+    private TitleLayoutCache.Entry obtainTitleLayout(TitleLayoutCache cache, String title, int width) {
+        if (TextUtils.isEmpty(title) || width <= 0) {
+            return null;
+        }
+        return cache.obtain(title, width, mTitleMaxLines, mTitleEllipsize);
+    }
+
+    @Override
+    protected void onBoundsChange(Rect bounds) {
+        super.onBoundsChange(bounds);
+        if (bounds.width() == mWidth && bounds.height() == mHeight) {
+            return;
+        }
+        mWidth = bounds.width();
+        mHeight = bounds.height();
+        updateWaveShader();
+        updateShapeGeometry();
+        updateTitleLayout();
+        mWaveBandTop = -1;
+    }
+
+    private void updateWaveShader() {
+        // PATH modunda doku sadece yazılım tuvaline düşüldüyse gereklidir.
+        if (mRenderMode == RenderMode.PATH && !mPathFallback) {
+            return;
+        }
+        // IllegalArgumentException: View'dan Bitmap'i yüklerken genişlik ve yükseklik > 0 olmalıdır
+        // http://stackoverflow.com/questions/17605662/illegalargumentexception-width-and-height-must-be-0-while-loading-bitmap-from
+        int width = mWidth;
+        int height = mHeight;
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        // ALPHA_8 dokusu renk taşımaz; renk gölgelendiriciyle çizerken boyadan gelir.
+        boolean alphaTexture = mTextureMode == TextureMode.COMPACT_ALPHA_8;
+        int textureColor = alphaTexture ? Color.BLACK : mWaveColor;
+        mWavePaint.setColor(alphaTexture ? mWaveColor : Color.BLACK);
+        // Boyut ve renk aynıysa doku zaten güncel, tekrar çizmeye gerek yok.
+        if (mWaveTexture != null
+                && mWaveTexture.matches(width, height, textureColor, DEFAULT_WAVE_LENGTH_RATIO,
+                mTextureMode)) {
+            cancelTextureRequest();
+            return;
+        }
+        long start = mMetrics != null ? System.nanoTime() : 0;
+        WaveTexturePool pool = mTexturePool;
+        if (mAsyncTexture) {
+            WaveTexturePool.Texture texture = pool.acquireIfCached(width, height, textureColor,
+                    DEFAULT_WAVE_LENGTH_RATIO, mTextureMode);
+            if (texture == null) {
+                requestTexture(width, height, textureColor);
+                return;
+            }
+            cancelTextureRequest();
+            releaseWaveTexture();
+            setWaveTexture(texture, height);
+        } else {
+            cancelTextureRequest();
+            // Sadece renk değiştiyse ve doku yalnızca bu Drawable'a aitse aynı bitmap yeniden çizilir.
+            if (mWaveTexture == null || mTextureDetached || !mWaveTexture.fits(width, height, mTextureMode)
+                    || !pool.recolor(mWaveTexture, textureColor)) {
+                // Eski doku önbelleğe bırakılır; aynı boyut ve renge dönülürse yeniden çizilmez.
+                releaseWaveTexture();
+                setWaveTexture(pool.acquire(width, height, textureColor, DEFAULT_WAVE_LENGTH_RATIO,
+                        mTextureMode), height);
+            }
+        }
+        if (mMetrics != null) {
+            mMetrics.recordShaderRebuild(System.nanoTime() - start);
+        }
+    }
+
+    private void setWaveTexture(WaveTexturePool.Texture texture, int height) {
+        mDefaultWaterLevel = height * DEFAULT_WATER_LEVEL_RATIO;
+        mWaveTexture = texture;
+        // Bitmap paylaşılır, fakat her Drawable'ın kendi gölgelendirme matrisi olduğu için gölgelendirici ayrıdır.
+        mWaveShader = new BitmapShader(texture.getBitmap(), Shader.TileMode.REPEAT, Shader.TileMode.CLAMP);
+        updateShaderMatrix();
+        mWavePaint.setShader(mWaveShader);
+    }
+
+    /**
+     * Dokuyu arka planda oluşturmak üzere ister. Eski doku aynı boyut ve mod içinse (ör. sadece renk değiştiyse)
+     * yenisi gelene kadar gösterilmeye devam eder, değilse yerine düz bir dolgu çizilir.
+     */
+    private void requestTexture(int width, int height, int textureColor) {
+        if (mWaveTexture != null && !mWaveTexture.fits(width, height, mTextureMode)) {
+            releaseWaveTexture();
+        }
+        mTexturePending = true;
+        mTextureGeneration.incrementAndGet();
+        mTexturePool.getGenerationExecutor().execute(new WaveTextureTask(width, height,
+                textureColor, DEFAULT_WAVE_LENGTH_RATIO, mTextureMode, mTextureGeneration,
+                mTextureCallback));
+    }
+
+    private void applyGeneratedTexture(WaveTextureTask task) {
+        // Bu arada daha yeni bir boyut veya renk istendiyse sonuç atılır.
+        if (task.isCancelled()) {
+            return;
+        }
+        long start = mMetrics != null ? System.nanoTime() : 0;
+        mTexturePending = false;
+        releaseWaveTexture();
+        setWaveTexture(task.acquire(mTexturePool), task.getHeight());
+        if (mMetrics != null) {
+            mMetrics.recordShaderRebuild(System.nanoTime() - start);
+        }
+        invalidateSelf();
+    }
+
+    /**
+     * Bekleyen arka plan doku isteğini iptal eder.
+     */
+    void cancelTextureRequest() {
+        if (mTexturePending) {
+            mTexturePending = false;
+            mTextureGeneration.incrementAndGet();
+        }
+    }
+
+    private void updateShaderMatrix() {
+        if (mWaveShader != null) {
+            // Dalga uzunluğuna ve genlik oranına göre ölçeklendiriciyi ölçeklendirin.
+            // Dalgaların boyutlarını belirler (genişlik için waveLengthRatio , yükseklik için amplitudeRatio ).
+            // Kaydırma her karede WaveShape.drawWave() içinde tuval üzerinden yapılır.
+            mShaderMatrix.setScale(1, mAmplitudeRatio / DEFAULT_AMPLITUDE_RATIO, 0, mDefaultWaterLevel);
+            // Kompakt dokular sadece genlik bandını kapsar.
+            mShaderMatrix.preTranslate(0, mWaveTexture.getTop());
+            mWaveShader.setLocalMatrix(mShaderMatrix);
+        }
+    }
+
+    private void releaseWaveTexture() {
+        if (mWaveTexture != null) {
+            if (mTextureDetached) {
+                // Havuzdaki referans daha önce bırakıldı.
+                mTextureDetached = false;
+            } else {
+                mTexturePool.release(mWaveTexture);
+            }
+            mWaveTexture = null;
+            mWaveShader = null;
+            mWavePaint.setShader(null);
+        }
+    }
+
+    /**
+     * Dalga dokusunu havuza, sabit katmanların bitmap'lerini de belleğe bırakır. Drawable tekrar çizilirse
+     * doku yeniden alınır.
+     */
+    public void release() {
+        cancelTextureRequest();
+        releaseWaveTexture();
+        mBackgroundLayer.release();
+        mTitleLayer.release();
+    }
+
+    /**
+     * Dokuyu burada tutarak havuzdaki referansını bırakır; havuz gerekirse onu önbellekten atabilir.
+     * {@link #retainTexture()} ile tekrar kaydedilir.
+     */
+    void detachTexture() {
+        cancelTextureRequest();
+        if (mWaveTexture != null && !mTextureDetached) {
+            mTexturePool.release(mWaveTexture);
+            mTextureDetached = true;
+        }
+    }
+
+    /**
+     * {@link #detachTexture()} ile bırakılan dokuyu havuzda yeniden kaydeder; doku çizilmez.
+     */
+    void retainTexture() {
+        if (mTextureDetached) {
+            WaveTexturePool.Texture texture = mTexturePool.retain(mWaveTexture);
+            mTextureDetached = false;
+            if (texture != mWaveTexture) {
+                setWaveTexture(texture, mHeight);
+            }
+        }
+        // Daha önce boyutlandıysa, bırakılan dokuyu havuzdan geri al.
+        updateWaveShader();
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        if (mAlpha != alpha) {
+            mAlpha = alpha;
+            invalidateSelf();
+        }
+    }
+
+    @Override
+    public int getAlpha() {
+        return mAlpha;
+    }
+
+    @Override
+    public void setColorFilter(ColorFilter colorFilter) {
+        mColorFilter = colorFilter;
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    /**
+     * Seviye (0-10000) ilerleme değerine (0-100) çevrilir; ProgressBar ilerlemesini bu şekilde iletir.
+     */
+    @Override
+    protected boolean onLevelChange(int level) {
+        int progress = Math.round(level / 100f);
+        if (progress == mProgressValue) {
+            return false;
+        }
+        setProgressValue(progress);
+        return true;
+    }
+
+    /**
+     * Görünmez olduğunda çalışan animasyonu duraklatır, tekrar görünür olduğunda devam ettirir.
+     * Sadece bu şekilde duraklatılan animasyon otomatik olarak devam ettirilir.
+     */
+    @Override
+    public boolean setVisible(boolean visible, boolean restart) {
+        boolean changed = super.setVisible(visible, restart);
+        updateAnimationVisibility();
+        // Görünmezken bekleyen su seviyesi animasyonu görünür olunca devam eder.
+        updateFrameCallback();
+        return changed;
+    }
+
+    /**
+     * Süren su seviyesi animasyonunu hedefinde bitirir.
+     */
+    @Override
+    public void jumpToCurrentState() {
+        if (mWaterLevelAnimator.isRunning()) {
+            float target = mWaterLevelAnimator.getTarget();
+            mWaterLevelAnimator.setValue(target);
+            setWaterLevelRatio(target);
+            updateFrameCallback();
+        }
+    }
+
+    public void setWaveBgColor(int color) {
+        this.mWaveBgColor = color;
+        mWaveBgPaint.setColor(this.mWaveBgColor);
+        // Arka plan rengi dalga dokusunu etkilemez, gölgelendiriciyi yeniden oluşturmaya gerek yok.
+        requestUpdate(UPDATE_BACKGROUND_LAYER);
+    }
+
+    public int getWaveBgColor() {
+        return mWaveBgColor;
+    }
+
+    public void setWaveColor(int color) {
+        if (mWaveColor == color) {
+            return;
+        }
+        mWaveColor = color;
+        // Doku sadece bu Drawable'a aitse aynı bitmap üzerine yeniden çizilir, yoksa havuzdan yenisi alınır.
+        requestUpdate(UPDATE_TEXTURE);
+    }
+
+    public int getWaveColor() {
+        return mWaveColor;
+    }
+
+    public void setBorderWidth(float width) {
+        mBorderPaint.setStrokeWidth(width);
+        requestUpdate(UPDATE_GEOMETRY);
+    }
+
+    public float getBorderWidth() {
+        return mBorderPaint.getStrokeWidth();
+    }
+
+    public void setBorderColor(int color) {
+        mBorderPaint.setColor(color);
+        requestUpdate(UPDATE_BACKGROUND_LAYER);
+    }
+
+    public int getBorderColor() {
+        return mBorderPaint.getColor();
+    }
+
+    public void setShapeType(ShapeType shapeType) {
+        mShape.mShapeType = shapeType.ordinal();
+        requestUpdate(UPDATE_GEOMETRY);
+    }
+
+    public int getShapeType() {
+        return mShape.mShapeType;
+    }
+
+    /**
+     * Dalganın çizim modunu ayarlar.
+     *
+     * @param renderMode Varsayılan olarak {@link RenderMode#BITMAP}.
+     */
+    public void setRenderMode(RenderMode renderMode) {
+        if (mRenderMode == renderMode) {
+            return;
+        }
+        mRenderMode = renderMode;
+        mPathFallback = false;
+        if (renderMode == RenderMode.PATH) {
+            // Doku gerekirse draw() içinde yeniden alınır.
+            cancelTextureRequest();
+            releaseWaveTexture();
+            requestUpdate(UPDATE_INVALIDATE);
+        } else {
+            requestUpdate(UPDATE_TEXTURE);
+        }
+    }
+
+    public RenderMode getRenderMode() {
+        return mRenderMode;
+    }
+
+    /**
+     * BITMAP modundaki dalga dokusunun saklanma biçimini ayarlar.
+     *
+     * @param textureMode Varsayılan olarak {@link TextureMode#FULL}.
+     */
+    public void setTextureMode(TextureMode textureMode) {
+        if (mTextureMode == textureMode) {
+            return;
+        }
+        mTextureMode = textureMode;
+        requestUpdate(UPDATE_TEXTURE);
+    }
+
+    public TextureMode getTextureMode() {
+        return mTextureMode;
+    }
+
+    /**
+     * AmplitudeRatio'ya göre dalganın dikey boyutunu ayarlayın.
+     *
+     * @param amplitudeRatio Varsayılan 0,05 olacak. amplitudeRatio + waterLevelRatio sonucu 1'den az olmalıdır.
+     */
+    public void setAmplitudeRatio(int amplitudeRatio) {
+        if (this.mAmplitudeRatio != (float) amplitudeRatio / 1000) {
+            this.mAmplitudeRatio = (float) amplitudeRatio / 1000;
+            requestUpdate(UPDATE_SHADER_MATRIX);
+        }
+    }
+
+    public float getAmplitudeRatio() {
+        return mAmplitudeRatio;
+    }
+
+    /**
+     * Su seviyesi 0'dan ilerleme değerine yükseliyor.
+     * Animasyon sürerken çağrılırsa seviye sıçramadan yeni hedefe yönelir; hedef değişmediyse hiçbir şey yapılmaz.
+     * Drawable görünmüyorsa animasyon görünür olduğunda başlar.
+     *
+     * @param progress Varsayılan olarak 50.
+     */
+    public void setProgressValue(int progress) {
+        mProgressValue = progress;
+        if (!mWaterLevelAnimator.isRunning()) {
+            // setWaterLevelRatio() ile dışarıdan değiştirilmiş olabilir.
+            mWaterLevelAnimator.setValue(mWaterLevelRatio);
+        }
+        if (mWaterLevelAnimator.animateTo((float) progress / 100)) {
+            updateFrameCallback();
+        }
+    }
+
+    /**
+     * @param animate false ise su seviyesi animasyonsuz olarak doğrudan hedefe atlar
+     */
+    public void setProgressValue(int progress, boolean animate) {
+        if (animate) {
+            setProgressValue(progress);
+            return;
+        }
+        mProgressValue = progress;
+        float waterLevel = (float) progress / 100;
+        mWaterLevelAnimator.setValue(waterLevel);
+        setWaterLevelRatio(waterLevel);
+        updateFrameCallback();
+    }
+
+    /**
+     * {@link #setProgressValue(int)} metodunun herhangi bir thread'den çağrılabilen hali.
+     * Ana thread'e ulaşmadan gelen ardışık değerlerden sadece en sonuncusu uygulanır.
+     *
+     * @param progress Varsayılan olarak 50.
+     */
+    public void postProgress(int progress) {
+        mPendingProgress.set(progress);
+        if (mPendingProgressPosted.compareAndSet(false, true)) {
+            MAIN_HANDLER.post(mApplyPendingProgress);
+        }
+    }
+
+    public int getProgressValue() {
+        return mProgressValue;
+    }
+
+    public void setWaveShiftRatio(float waveShiftRatio) {
+        if (this.mWaveShiftRatio != waveShiftRatio) {
+            this.mWaveShiftRatio = waveShiftRatio;
+            invalidateWave();
+        }
+    }
+
+    public float getWaveShiftRatio() {
+        return mWaveShiftRatio;
+    }
+
+    public void setWaterLevelRatio(float waterLevelRatio) {
+        if (this.mWaterLevelRatio != waterLevelRatio) {
+            this.mWaterLevelRatio = waterLevelRatio;
+            if (updateProgressLabel() && mPartialInvalidate) {
+                // Etiket dalga bandının dışında kalabilir.
+                invalidateRect(0, (int) Math.floor(mProgressLabelTop), mWidth, (int) Math.ceil(mProgressLabelBottom));
+            }
+            invalidateWave();
+        }
+    }
+
+    public float getWaterLevelRatio() {
+        return mWaterLevelRatio;
+    }
+
+    /**
+     * Başlık şeklin içerisinde ayarlanıyor.
+     *
+     * @param topTitle Varsayılan değer null.
+     */
+    public void setTopTitle(String topTitle) {
+        if (!TextUtils.isEmpty(topTitle)) {
+            ensureTitlePaints();
+        }
+        mTopTitle = topTitle;
+        requestUpdate(UPDATE_TITLES);
+    }
+
+    public String getTopTitle() {
+        return mTopTitle;
+    }
+
+    public void setCenterTitle(String centerTitle) {
+        if (!TextUtils.isEmpty(centerTitle)) {
+            ensureTitlePaints();
+        }
+        mCenterTitle = centerTitle;
+        requestUpdate(UPDATE_TITLES);
+    }
+
+    public String getCenterTitle() {
+        return mCenterTitle;
+    }
+
+    /**
+     * Orta başlık yerine, su seviyesiyle birlikte sayan bir ilerleme etiketi gösterir.
+     * Etiket her güncellemede yeni bir String oluşturmadan tekrar kullanılan bir tampondan çizilir.
+     *
+     * @param format {@value ProgressLabel#PLACEHOLDER} yerine yüzdenin yazıldığı biçim, ör. "{p}%".
+     *               null ise etiket kapatılır ve orta başlık gösterilir.
+     */
+    public void setProgressLabel(String format) {
+        if (TextUtils.isEmpty(format)) {
+            mProgressLabel = null;
+        } else if (mProgressLabel == null || !format.equals(mProgressLabel.getFormat())) {
+            ensureTitlePaints();
+            mProgressLabel = new ProgressLabel(format);
+        }
+        requestUpdate(UPDATE_PROGRESS_LABEL | UPDATE_TITLE_LAYER);
+    }
+
+    public String getProgressLabel() {
+        return mProgressLabel == null ? null : mProgressLabel.getFormat();
+    }
+
+    public void setBottomTitle(String bottomTitle) {
+        if (!TextUtils.isEmpty(bottomTitle)) {
+            ensureTitlePaints();
+        }
+        mBottomTitle = bottomTitle;
+        requestUpdate(UPDATE_TITLES);
+    }
+
+    public String getBottomTitle() {
+        return mBottomTitle;
+    }
+
+    public void setTopTitleColor(int topTitleColor) {
+        ensureTitlePaints();
+        mTopTitlePaint.setColor(topTitleColor);
+        requestUpdate(UPDATE_TITLE_LAYER);
+    }
+
+    public int getTopTitleColor() {
+        return mTopTitlePaint != null ? mTopTitlePaint.getColor() : mStyle.mTopTitleColor;
+    }
+
+    public void setCenterTitleColor(int centerTitleColor) {
+        ensureTitlePaints();
+        mCenterTitlePaint.setColor(centerTitleColor);
+        requestUpdate(UPDATE_TITLE_LAYER);
+    }
+
+    public int getCenterTitleColor() {
+        return mCenterTitlePaint != null ? mCenterTitlePaint.getColor() : mStyle.mCenterTitleColor;
+    }
+
+    public void setBottomTitleColor(int bottomTitleColor) {
+        ensureTitlePaints();
+        mBottomTitlePaint.setColor(bottomTitleColor);
+        requestUpdate(UPDATE_TITLE_LAYER);
+    }
+
+    public int getBottomTitleColor() {
+        return mBottomTitlePaint != null ? mBottomTitlePaint.getColor() : mStyle.mBottomTitleColor;
+    }
+
+    /**
+     * @param topTitleSize sp cinsinden yazı boyutu
+     */
+    public void setTopTitleSize(float topTitleSize) {
+        ensureTitlePaints();
+        mTopTitlePaint.setTextSize(sp2px(topTitleSize));
+        mTopTitleStrokePaint.setTextSize(mTopTitlePaint.getTextSize());
+        requestUpdate(UPDATE_TITLES);
+    }
+
+    /**
+     * @return Piksel cinsinden yazı boyutu
+     */
+    public float getTopTitleSize() {
+        return mTopTitlePaint != null ? mTopTitlePaint.getTextSize() : mStyle.mTopTitleSize;
+    }
+
+    public void setCenterTitleSize(float centerTitleSize) {
+        ensureTitlePaints();
+        mCenterTitlePaint.setTextSize(sp2px(centerTitleSize));
+        mCenterTitleStrokePaint.setTextSize(mCenterTitlePaint.getTextSize());
+        requestUpdate(UPDATE_TITLES);
+    }
+
+    public float getCenterTitleSize() {
+        return mCenterTitlePaint != null ? mCenterTitlePaint.getTextSize() : mStyle.mCenterTitleSize;
+    }
+
+    public void setBottomTitleSize(float bottomTitleSize) {
+        ensureTitlePaints();
+        mBottomTitlePaint.setTextSize(sp2px(bottomTitleSize));
+        mBottomTitleStrokePaint.setTextSize(mBottomTitlePaint.getTextSize());
+        requestUpdate(UPDATE_TITLES);
+    }
+
+    public float getBottomTitleSize() {
+        return mBottomTitlePaint != null ? mBottomTitlePaint.getTextSize() : mStyle.mBottomTitleSize;
+    }
+
+    /**
+     * @param topTitleStrokeWidth dp cinsinden kontur kalınlığı
+     */
+    public void setTopTitleStrokeWidth(float topTitleStrokeWidth) {
+        ensureTitlePaints();
+        mTopTitleStrokePaint.setStrokeWidth(dp2px(topTitleStrokeWidth));
+        requestUpdate(UPDATE_TITLE_LAYER);
+    }
+
+    public void setTopTitleStrokeColor(int topTitleStrokeColor) {
+        ensureTitlePaints();
+        mTopTitleStrokePaint.setColor(topTitleStrokeColor);
+        requestUpdate(UPDATE_TITLE_LAYER);
+    }
+
+    public void setBottomTitleStrokeWidth(float bottomTitleStrokeWidth) {
+        ensureTitlePaints();
+        mBottomTitleStrokePaint.setStrokeWidth(dp2px(bottomTitleStrokeWidth));
+        requestUpdate(UPDATE_TITLE_LAYER);
+    }
+
+    public void setBottomTitleStrokeColor(int bottomTitleStrokeColor) {
+        ensureTitlePaints();
+        mBottomTitleStrokePaint.setColor(bottomTitleStrokeColor);
+        requestUpdate(UPDATE_TITLE_LAYER);
+    }
+
+    public void setCenterTitleStrokeWidth(float centerTitleStrokeWidth) {
+        ensureTitlePaints();
+        mCenterTitleStrokePaint.setStrokeWidth(dp2px(centerTitleStrokeWidth));
+        requestUpdate(UPDATE_TITLE_LAYER | UPDATE_PROGRESS_LABEL);
+    }
+
+    public void setCenterTitleStrokeColor(int centerTitleStrokeColor) {
+        ensureTitlePaints();
+        mCenterTitleStrokePaint.setColor(centerTitleStrokeColor);
+        requestUpdate(UPDATE_TITLE_LAYER);
+    }
+
+    /**
+     * Başlıkların en fazla kaç satıra yayılabileceğini ayarlar.
+     *
+     * @param maxLines Varsayılan olarak 1.
+     */
+    public void setTitleMaxLines(int maxLines) {
+        mTitleMaxLines = Math.max(1, maxLines);
+        requestUpdate(UPDATE_TITLES);
+    }
+
+    public int getTitleMaxLines() {
+        return mTitleMaxLines;
+    }
+
+    /**
+     * Sınırlara sığmayan başlıkların nereden kısaltılacağını ayarlar.
+     *
+     * @param ellipsize Varsayılan olarak {@link TextUtils.TruncateAt#END}; null ise metin kesilir.
+     */
+    public void setTitleEllipsize(TextUtils.TruncateAt ellipsize) {
+        mTitleEllipsize = ellipsize;
+        requestUpdate(UPDATE_TITLES);
+    }
+
+    public TextUtils.TruncateAt getTitleEllipsize() {
+        return mTitleEllipsize;
+    }
+
+    /**
+     * Dalga karelerinde sadece dalganın genlik bandını geçersiz kılar. Sadece Drawable bir View'a bağlıyken
+     * ve yazılımla çizimde etkilidir, donanım hızlandırmalı çizimde yok sayılır;
+     * bkz. {@link WaveLoadingView#setPartialInvalidate(boolean)}.
+     *
+     * @param partialInvalidate Varsayılan olarak false.
+     */
+    public void setPartialInvalidate(boolean partialInvalidate) {
+        if (mPartialInvalidate != partialInvalidate) {
+            mPartialInvalidate = partialInvalidate;
+            mWaveBandTop = -1;
+            invalidateSelf();
+        }
+    }
+
+    public boolean isPartialInvalidate() {
+        return mPartialInvalidate;
+    }
+
+    /**
+     * Kenarlık, arka plan ve başlıkları sınırlar boyutunda bitmap katmanlarına bir kez çizer;
+     * bkz. {@link WaveLoadingView#setStaticLayerCache(boolean)}.
+     *
+     * @param staticLayerCache Varsayılan olarak false.
+     */
+    public void setStaticLayerCache(boolean staticLayerCache) {
+        if (mStaticLayerCache != staticLayerCache) {
+            mStaticLayerCache = staticLayerCache;
+            if (!staticLayerCache) {
+                mBackgroundLayer.release();
+                mTitleLayer.release();
+            }
+            invalidateSelf();
+        }
+    }
+
+    public boolean isStaticLayerCache() {
+        return mStaticLayerCache;
+    }
+
+    /**
+     * Dalga dokusunu {@link WaveTexturePool#getGenerationExecutor()} üzerinde oluşturur;
+     * bkz. {@link WaveLoadingView#setAsyncTexture(boolean)}.
+     *
+     * @param asyncTexture Varsayılan olarak false.
+     */
+    public void setAsyncTexture(boolean asyncTexture) {
+        mAsyncTexture = asyncTexture;
+    }
+
+    public boolean isAsyncTexture() {
+        return mAsyncTexture;
+    }
+
+    /**
+     * Dokuların alınacağı havuzu değiştirir. Ana thread dışında çizen Drawable'lar paylaşılan havuz yerine
+     * sadece o thread'den kullanılan kendi havuzlarını verir; mevcut doku eski havuza bırakılır.
+     */
+    void setTexturePool(WaveTexturePool pool) {
+        if (mTexturePool != pool) {
+            cancelTextureRequest();
+            releaseWaveTexture();
+            mTexturePool = pool;
+        }
+    }
+
+    /**
+     * Dalga animasyonunun en fazla kaç fps ile çizileceğini ayarlar.
+     *
+     * @param frameRate Saniyedeki kare sayısı; 0 ise ekranın yenileme hızı kullanılır. Varsayılan olarak 0.
+     */
+    public void setFrameRate(int frameRate) {
+        mFrameRateController.setFrameRate(frameRate);
+    }
+
+    public int getFrameRate() {
+        return mFrameRateController.getFrameRate();
+    }
+
+    /**
+     * Güç tasarrufu modunda veya ana thread kare kaçırırken kare hızını düşürür;
+     * bkz. {@link WaveLoadingView#setAdaptiveFrameRate(boolean)}.
+     *
+     * @param adaptiveFrameRate Varsayılan olarak false.
+     */
+    public void setAdaptiveFrameRate(boolean adaptiveFrameRate) {
+        mFrameRateController.setAdaptive(adaptiveFrameRate);
+        if (adaptiveFrameRate && mWaveAnimState != WAVE_ANIM_STOPPED) {
+            WaveFrameClock.getInstance().watchPowerSaveMode(mContext);
+        }
+    }
+
+    public boolean isAdaptiveFrameRate() {
+        return mFrameRateController.isAdaptive();
+    }
+
+    /**
+     * Animasyonun uzunluğunu ayarlar. Varsayılan süre 1000 milisaniyedir.
+     *
+     * @param duration Milisaniye cinsinden animasyonun uzunluğu.
+     */
+    public void setAnimDuration(long duration) {
+        // Dalga hızı değişse de konumu sıçramasın.
+        mWaveShiftOffset = mWaveShiftRatio;
+        mWaveStartNanos = -1;
+        mAnimDuration = duration;
+    }
+
+    /**
+     * Dalga animasyonunu baştan başlatır.
+     */
+    @Override
+    public void start() {
+        startWave(0);
+    }
+
+    /**
+     * Dalga animasyonunu, dalganın şu anki konumundan başlatır.
+     */
+    void startFromCurrentPhase() {
+        startWave(mWaveShiftRatio);
+    }
+
+    private void startWave(float waveShiftOffset) {
+        mAutoPaused = false;
+        mWaveShiftOffset = waveShiftOffset;
+        mWaveStartNanos = -1;
+        mWaveAnimState = WAVE_ANIM_RUNNING;
+        // İlk kare, durdurulmadan önceki son kareye göre kısılmasın.
+        mFrameRateController.reset();
+        if (mFrameRateController.isAdaptive()) {
+            WaveFrameClock.getInstance().watchPowerSaveMode(mContext);
+        }
+        updateFrameCallback();
+        updateAnimationVisibility();
+    }
+
+    /**
+     * Dalga animasyonunu durdurur. Süren su seviyesi animasyonu tamamlanır.
+     */
+    @Override
+    public void stop() {
+        mAutoPaused = false;
+        mWaveAnimState = WAVE_ANIM_STOPPED;
+        updateFrameCallback();
+    }
+
+    /**
+     * @return Dalga animasyonu çalışıyorsa veya sadece Drawable görünmediği için duraklatıldıysa true
+     */
+    @Override
+    public boolean isRunning() {
+        return mWaveAnimState == WAVE_ANIM_RUNNING || mAutoPaused;
+    }
+
+    public void pause() {
+        mAutoPaused = false;
+        pauseWave();
+    }
+
+    public void resume() {
+        mAutoPaused = false;
+        resumeWave();
+        updateAnimationVisibility();
+    }
+
+    private void pauseWave() {
+        if (mWaveAnimState == WAVE_ANIM_RUNNING) {
+            mWaveAnimState = WAVE_ANIM_PAUSED;
+            mWaveShiftOffset = mWaveShiftRatio;
+            updateFrameCallback();
+        }
+    }
+
+    private void resumeWave() {
+        if (mWaveAnimState == WAVE_ANIM_PAUSED) {
+            mWaveAnimState = WAVE_ANIM_RUNNING;
+            mWaveStartNanos = -1;
+            mFrameRateController.reset();
+            updateFrameCallback();
+        }
+    }
+
+    private void updateAnimationVisibility() {
+        if (isVisible()) {
+            if (mAutoPaused) {
+                mAutoPaused = false;
+                resumeWave();
+            }
+        } else if (!mAutoPaused && mWaveAnimState == WAVE_ANIM_RUNNING) {
+            mAutoPaused = true;
+            pauseWave();
+        }
+    }
+
+    /**
+     * Kare geri çağrısı sadece Drawable görünürken ve dalga veya su seviyesi canlandırılıyorken eklenir.
+     */
+    private void updateFrameCallback() {
+        boolean needed = isVisible() && (mWaveAnimState == WAVE_ANIM_RUNNING || mWaterLevelAnimator.isRunning());
+        if (needed != mFrameCallbackAdded) {
+            mFrameCallbackAdded = needed;
+            if (needed) {
+                WaveFrameClock.getInstance().addCallback(mFrameCallback);
+            } else {
+                WaveFrameClock.getInstance().removeCallback(mFrameCallback);
+            }
+        }
+    }
+
+    /**
+     * Dalga kaymasını ve su seviyesini kare zamanından hesaplar.
+     *
+     * @param frameTimeNanos Karenin zamanı
+     */
+    private void doAnimationFrame(long frameTimeNanos) {
+        if (!mFrameRateController.shouldRender(frameTimeNanos, WaveFrameClock.getInstance().isConstrained())) {
+            return;
+        }
+        if (mWaveAnimState == WAVE_ANIM_RUNNING) {
+            if (mWaveStartNanos < 0) {
+                mWaveStartNanos = frameTimeNanos;
+            }
+            long durationNanos = mAnimDuration * NANOS_PER_MILLI;
+            float shift = mWaveShiftOffset;
+            if (durationNanos > 0) {
+                shift += (float) ((frameTimeNanos - mWaveStartNanos) % durationNanos) / durationNanos;
+            }
+            setWaveShiftRatio(shift >= 1f ? shift - 1f : shift);
+        }
+        if (mWaterLevelAnimator.isRunning()) {
+            mWaterLevelAnimator.doFrame(frameTimeNanos);
+            setWaterLevelRatio(mWaterLevelAnimator.getValue());
+        }
+        updateFrameCallback();
+    }
+
+    /**
+     * Çizim süresi, doku yeniden oluşturma ve bellek ölçümlerini açar veya kapatır. Varsayılan olarak kapalıdır;
+     * kapalıyken kare başına sadece bir null kontrolü yapılır. Kapatmak toplanan ölçümleri siler.
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        if (enabled != (mMetrics != null)) {
+            mMetrics = enabled ? new WaveMetrics() : null;
+        }
+    }
+
+    public boolean isMetricsEnabled() {
+        return mMetrics != null;
+    }
+
+    /**
+     * @return Toplanan ölçümler; ölçümler kapalıysa null
+     */
+    public WaveMetrics getMetrics() {
+        if (mMetrics != null) {
+            mMetrics.setBitmapBytes(getBitmapBytes());
+            mMetrics.setLiveAnimatorCount(WaveFrameClock.getInstance().getCallbackCount());
+        }
+        return mMetrics;
+    }
+
+    /**
+     * @return Kullanılan dalga dokusu; henüz alınmadıysa veya PATH modunda null
+     */
+    WaveTexturePool.Texture getWaveTexture() {
+        return mWaveTexture;
+    }
+
+    private int getBitmapBytes() {
+        int bytes = mWaveTexture != null ? mWaveTexture.getByteCount() : 0;
+        return bytes + mBackgroundLayer.getByteCount() + mTitleLayer.getByteCount();
+    }
+
+    /**
+     * Bir düzenleme başlatır; {@link #endEdit()} çağrılana kadar değişikliklerin gerektirdiği işler biriktirilir.
+     */
+    void beginEdit() {
+        mEditDepth++;
+    }
+
+    void endEdit() {
+        if (mEditDepth > 0 && --mEditDepth == 0) {
+            applyUpdates();
+        }
+    }
+
+    /**
+     * Özellik değişikliğinin gerektirdiği işi yapar; bir düzenleme sürüyorsa endEdit()'e kadar erteler.
+     */
+    private void requestUpdate(int updates) {
+        mPendingUpdates |= updates | UPDATE_INVALIDATE;
+        if (mEditDepth == 0) {
+            applyUpdates();
+        }
+    }
+
+    private void applyUpdates() {
+        int updates = mPendingUpdates;
+        mPendingUpdates = 0;
+        if (updates == 0) {
+            return;
+        }
+        if ((updates & UPDATE_TEXTURE) != 0) {
+            updateWaveShader();
+        }
+        if ((updates & UPDATE_SHADER_MATRIX) != 0) {
+            updateShaderMatrix();
+        }
+        if ((updates & UPDATE_GEOMETRY) != 0) {
+            updateShapeGeometry();
+        }
+        if ((updates & UPDATE_TITLES) != 0) {
+            // İlerleme etiketinin konumu da yeniden hesaplanır.
+            updateTitleLayout();
+        } else if ((updates & UPDATE_PROGRESS_LABEL) != 0) {
+            updateProgressLabelLayout();
+        }
+        if ((updates & UPDATE_BACKGROUND_LAYER) != 0) {
+            mBackgroundLayer.invalidate();
+        }
+        if ((updates & UPDATE_TITLE_LAYER) != 0) {
+            mTitleLayer.invalidate();
+        }
+        invalidateSelf();
+    }
+
+    /**
+     * Paint.setTextSize(float textSize) default unit is px.
+     *
+     * @param spValue Metnin gerçek boyutu
+     * @return int - A transplanted sp
+     */
+    private int sp2px(float spValue) {
+        final float fontScale = mResources.getDisplayMetrics().scaledDensity;
+        return (int) (spValue * fontScale + 0.5f);
+    }
+
+    private int dp2px(float dp) {
+        final float scale = mResources.getDisplayMetrics().density;
+        return (int) (dp * scale + 0.5f);
+    }
+}
@@ -0,0 +1,211 @@
+package me.itangqi.waveloadingview;
+
+import android.annotation.TargetApi;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+
+/**
+ * Ana thread'deki tüm WaveLoadingView'lar için tek bir kare saati.
+ * <p>
+ * Choreographer varsa (API 16+) her vsync'te tek bir geri çağrı kaydedilir, yoksa ~60 fps'lik bir
+ * Handler döngüsü kullanılır. Tüm metodlar ana (UI) thread'den çağrılmalıdır.
+ * <p>
+ * Saat ayrıca kareler arasındaki süreden kaçırılan kareleri ve istenirse güç tasarrufu modunu izler;
+ * otomatik kare hızındaki View'lar bu durumlarda daha seyrek çizer.
+ */
+final class WaveFrameClock {
+    private static final long FALLBACK_FRAME_DELAY_MS = 16;
+    private static final long DEFAULT_VSYNC_NANOS = 16666667L;
+    // Kaçırılan kare oranının üstel ortalaması için ağırlık ve histerezis eşikleri.
+    private static final float JANK_SMOOTHING = 0.1f;
+    private static final float JANK_ENTER_THRESHOLD = 0.3f;
+    private static final float JANK_EXIT_THRESHOLD = 0.1f;
+
+    private static WaveFrameClock sInstance;
+
+    interface Callback {
+        /**
+         * @param frameTimeNanos {@link System#nanoTime()} zaman tabanında karenin zamanı
+         */
+        void onFrame(long frameTimeNanos);
+    }
+
+    private final ArrayList<Callback> mCallbacks = new ArrayList<>();
+    // Dağıtım sırasında geri çağrılar kendini çıkarabilsin diye kullanılan, tekrar kullanılan kopya.
+    private Callback[] mDispatching = new Callback[8];
+    // Kopyada henüz çağrılmamış geri çağrıların aralığı; dağıtım yokken boştur.
+    private int mDispatchIndex;
+    private int mDispatchEnd;
+    private final Driver mDriver;
+    private boolean mScheduled;
+    // Kare kaçırma takibi.
+    private long mLastFrameNanos = -1;
+    private long mVsyncNanos = DEFAULT_VSYNC_NANOS;
+    private float mJankScore;
+    private boolean mDroppingFrames;
+    // Güç tasarrufu takibi; sadece watchPowerSaveMode() çağrıldıysa güncellenir.
+    private BroadcastReceiver mPowerSaveReceiver;
+    private boolean mPowerSaveMode;
+
+    private WaveFrameClock() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            mDriver = new ChoreographerDriver();
+        } else {
+            mDriver = new HandlerDriver();
+        }
+    }
+
+    static WaveFrameClock getInstance() {
+        if (sInstance == null) {
+            sInstance = new WaveFrameClock();
+        }
+        return sInstance;
+    }
+
+    void addCallback(Callback callback) {
+        if (!mCallbacks.contains(callback)) {
+            mCallbacks.add(callback);
+        }
+        if (!mScheduled) {
+            // Saat boşta beklediği süre kaçırılan kare sayılmasın.
+            mLastFrameNanos = -1;
+            mScheduled = true;
+            mDriver.schedule();
+        }
+    }
+
+    void removeCallback(Callback callback) {
+        if (mCallbacks.remove(callback)) {
+            // Bu karede henüz çağrılmadıysa kopyadan da çıkarılır.
+            for (int i = mDispatchIndex; i < mDispatchEnd; i++) {
+                if (mDispatching[i] == callback) {
+                    mDispatching[i] = null;
+                    break;
+                }
+            }
+        }
+    }
+
+    int getCallbackCount() {
+        return mCallbacks.size();
+    }
+
+    /**
+     * @return Cihaz güç tasarrufu modundaysa veya ana thread son karelerde vsync'i sık sık kaçırıyorsa true.
+     */
+    boolean isConstrained() {
+        return mPowerSaveMode || mDroppingFrames;
+    }
+
+    /**
+     * Güç tasarrufu modunu izlemeye başlar. Birden fazla çağrılması sorun değildir.
+     */
+    void watchPowerSaveMode(Context context) {
+        if (mPowerSaveReceiver != null || Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+            return;
+        }
+        final PowerManager powerManager = (PowerManager) context.getApplicationContext()
+                .getSystemService(Context.POWER_SERVICE);
+        if (powerManager == null) {
+            return;
+        }
+        mPowerSaveMode = powerManager.isPowerSaveMode();
+        mPowerSaveReceiver = new BroadcastReceiver() {
+            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                mPowerSaveMode = powerManager.isPowerSaveMode();
+            }
+        };
+        // Uygulama ömrü boyunca tek alıcı; uygulama bağlamına kaydedildiği için sızıntı oluşmaz.
+        context.getApplicationContext().registerReceiver(mPowerSaveReceiver,
+                new IntentFilter(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED));
+    }
+
+    /**
+     * Kareler arasındaki süreden vsync aralığını ve kaçırılan kareleri tahmin eder.
+     */
+    private void trackFrameInterval(long frameTimeNanos) {
+        if (mLastFrameNanos >= 0) {
+            long interval = frameTimeNanos - mLastFrameNanos;
+            // Kare zamanları vsync'e hizalıdır; görülen en kısa aralık ekranın yenileme aralığıdır.
+            if (interval > 0 && interval < mVsyncNanos) {
+                mVsyncNanos = interval;
+            }
+            boolean dropped = interval > mVsyncNanos * 3 / 2;
+            mJankScore += ((dropped ? 1f : 0f) - mJankScore) * JANK_SMOOTHING;
+            if (mDroppingFrames ? mJankScore < JANK_EXIT_THRESHOLD : mJankScore > JANK_ENTER_THRESHOLD) {
+                mDroppingFrames = !mDroppingFrames;
+            }
+        }
+        mLastFrameNanos = frameTimeNanos;
+    }
+
+    void doFrame(long frameTimeNanos) {
+        mScheduled = false;
+        trackFrameInterval(frameTimeNanos);
+        int count = mCallbacks.size();
+        if (mDispatching.length < count) {
+            mDispatching = new Callback[Math.max(count, mDispatching.length * 2)];
+        }
+        mCallbacks.toArray(mDispatching);
+        mDispatchEnd = count;
+        for (int i = 0; i < count; i++) {
+            Callback callback = mDispatching[i];
+            mDispatching[i] = null;
+            mDispatchIndex = i + 1;
+            // Bu karede daha önceki bir geri çağrı tarafından çıkarıldıysa null'dur.
+            if (callback != null) {
+                callback.onFrame(frameTimeNanos);
+            }
+        }
+        mDispatchIndex = 0;
+        mDispatchEnd = 0;
+        if (!mCallbacks.isEmpty() && !mScheduled) {
+            mScheduled = true;
+            mDriver.schedule();
+        }
+    }
+
+    private interface Driver {
+        void schedule();
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private final class ChoreographerDriver implements Driver, Choreographer.FrameCallback {
+        private final Choreographer mChoreographer = Choreographer.getInstance();
+
+        @Override
+        public void schedule() {
+            mChoreographer.postFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            WaveFrameClock.this.doFrame(frameTimeNanos);
+        }
+    }
+
+    private final class HandlerDriver implements Driver, Runnable {
+        private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void schedule() {
+            mHandler.postDelayed(this, FALLBACK_FRAME_DELAY_MS);
+        }
+
+        @Override
+        public void run() {
+            doFrame(System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,649 @@
+package me.itangqi.waveloadingview;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.AttributeSet;
+import android.view.View;
+
+import me.itangqi.library.R;
+
+/**
+ * Çok sayıda dalga göstergesini tek bir View içinde, ızgara şeklinde çizer.
+ * <p>
+ * Her gösterge için ayrı bir {@link WaveLoadingView} kullanmak yerine tüm hücreler tek bir ALPHA_8 dalga
+ * dokusunu, tek bir gölgelendiriciyi ve {@link WaveFrameClock} üzerindeki tek bir kare geri çağrısını paylaşır.
+ * Hücreler sadece su seviyesi, dalga rengi ve başlıklarıyla birbirinden ayrılır; View hiyerarşisi, ölçüm ve
+ * animasyon maliyeti gösterge sayısından bağımsız kalır.
+ * <p>
+ * Ortak wlv_ özellikleri {@link WaveLoadingView} ile aynı şekilde ve aynı varsayılanlarla okunur.
+ */
+public class WaveGridView extends View {
+    private static final int DEFAULT_GAUGE_COUNT = 0;
+    private static final int DEFAULT_COLUMN_COUNT = 4;
+    // Hücreler küçük olduğu için yazı boyutları WaveLoadingView'dakinden küçüktür.
+    private static final float DEFAULT_LABEL_SIZE = 14.0f;
+    private static final float DEFAULT_TITLE_SIZE = 10.0f;
+    private static final float DEFAULT_CELL_SPACING = 8.0f;
+    // Genişlik verilmediğinde (ör. yatay kaydırılan bir üst View içinde) kullanılan hücre boyutu.
+    private static final float DEFAULT_CELL_SIZE = 64.0f;
+    private static final long DEFAULT_ANIM_DURATION = 1000;
+    private static final long NANOS_PER_MILLI = 1000000L;
+    // Hücrelerin dalgaları aynı anda hareket etmesin diye her hücreye eklenen faz farkı.
+    private static final float PHASE_STEP = 0.37f;
+
+    private int mGaugeCount;
+    private int mColumnCount = DEFAULT_COLUMN_COUNT;
+    private int mCellSpacing;
+    private float mAmplitudeRatio;
+    private int mWaveColor;
+    private int mDefaultProgressValue;
+
+    // Göstergelerin durumu; dizinler gösterge sırasıdır.
+    private int[] mProgressValues = new int[0];
+    private float[] mWaterLevels = new float[0];
+    private WaterLevelAnimator[] mAnimators = new WaterLevelAnimator[0];
+    private int[] mWaveColors = new int[0];
+    private String[] mTitles = new String[0];
+    private float[] mTitleX = new float[0];
+    private ProgressLabel[] mLabels = new ProgressLabel[0];
+    private float[] mLabelX = new float[0];
+    private String mLabelFormat;
+
+    // Hücre geometrisi; hücre boyutu değiştiğinde bir kez hesaplanır.
+    private int mCellSize;
+    private WaveShape mShape;
+    private float mLabelY;
+    private float mTitleY;
+
+    // Tüm hücrelerin paylaştığı doku ve gölgelendirici.
+    private WaveTexturePool.Texture mWaveTexture;
+    private BitmapShader mWaveShader;
+    private Matrix mShaderMatrix;
+
+    private Paint mWavePaint;
+    private Paint mWaveBgPaint;
+    private Paint mBorderPaint;
+    private TextPaint mLabelPaint;
+    private TextPaint mTitlePaint;
+
+    // Animasyon.
+    private long mAnimDuration = DEFAULT_ANIM_DURATION;
+    private boolean mWaveRunning = true;
+    private long mWaveStartNanos = -1;
+    private float mWaveShiftOffset;
+    private float mWaveShiftRatio;
+    // onDetachedFromWindow() içinde getWindowToken() hâlâ null değildir; bu yüzden ayrıca tutulur.
+    private boolean mAttached;
+    private boolean mFrameCallbackAdded;
+    private FrameRateController mFrameRateController;
+    private final WaveFrameClock.Callback mFrameCallback = new WaveFrameClock.Callback() {
+        @Override
+        public void onFrame(long frameTimeNanos) {
+            doAnimationFrame(frameTimeNanos);
+        }
+    };
+
+    public WaveGridView(Context context) {
+        this(context, null);
+    }
+
+    public WaveGridView(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public WaveGridView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init(context, attrs, defStyleAttr);
+    }
+
+    private void init(Context context, AttributeSet attrs, int defStyleAttr) {
+        mShaderMatrix = new Matrix();
+        mFrameRateController = new FrameRateController();
+        mWavePaint = new Paint();
+        mWavePaint.setAntiAlias(true);
+        mWaveBgPaint = new Paint();
+        mWaveBgPaint.setAntiAlias(true);
+        mBorderPaint = new Paint();
+        mBorderPaint.setAntiAlias(true);
+        mBorderPaint.setStyle(Paint.Style.STROKE);
+        mLabelPaint = new TextPaint();
+        mLabelPaint.setAntiAlias(true);
+        mTitlePaint = new TextPaint();
+        mTitlePaint.setAntiAlias(true);
+
+        WaveStyle style = WaveStyle.obtain(context, attrs, defStyleAttr);
+        mShape = new WaveShape(style);
+        mWaveColor = style.mWaveColor;
+        mWaveBgPaint.setColor(style.mWaveBgColor);
+        mAmplitudeRatio = style.mAmplitudeRatio;
+        mBorderPaint.setStrokeWidth(style.mBorderWidth);
+        mBorderPaint.setColor(style.mBorderColor);
+        mLabelPaint.setColor(style.mCenterTitleColor);
+        mTitlePaint.setColor(style.mBottomTitleColor);
+        mLabelFormat = style.mProgressLabel;
+        mDefaultProgressValue = style.mProgressValue;
+        mFrameRateController.setFrameRate(style.mFrameRate);
+        mFrameRateController.setAdaptive(style.mAdaptiveFrameRate);
+
+        TypedArray attributes = context.obtainStyledAttributes(attrs, R.styleable.WaveGridView, defStyleAttr, 0);
+        mColumnCount = Math.max(1, attributes.getInteger(R.styleable.WaveGridView_wlv_columnCount, DEFAULT_COLUMN_COUNT));
+        mCellSpacing = attributes.getDimensionPixelSize(R.styleable.WaveGridView_wlv_cellSpacing, dp2px(DEFAULT_CELL_SPACING));
+        mLabelPaint.setTextSize(attributes.getDimension(R.styleable.WaveGridView_wlv_titleCenterSize, sp2px(DEFAULT_LABEL_SIZE)));
+        mTitlePaint.setTextSize(attributes.getDimension(R.styleable.WaveGridView_wlv_titleBottomSize, sp2px(DEFAULT_TITLE_SIZE)));
+        setGaugeCount(attributes.getInteger(R.styleable.WaveGridView_wlv_gaugeCount, DEFAULT_GAUGE_COUNT));
+        attributes.recycle();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width;
+        if (MeasureSpec.getMode(widthMeasureSpec) == MeasureSpec.UNSPECIFIED) {
+            int defaultWidth = getPaddingLeft() + getPaddingRight() + mColumnCount * dp2px(DEFAULT_CELL_SIZE)
+                    + (mColumnCount - 1) * mCellSpacing;
+            width = resolveSize(Math.max(defaultWidth, getSuggestedMinimumWidth()), widthMeasureSpec);
+        } else {
+            width = MeasureSpec.getSize(widthMeasureSpec);
+        }
+        int cellSize = computeCellSize(width);
+        int rows = (mGaugeCount + mColumnCount - 1) / mColumnCount;
+        int height = getPaddingTop() + getPaddingBottom() + rows * cellSize + Math.max(0, rows - 1) * mCellSpacing;
+        setMeasuredDimension(width, resolveSize(height, heightMeasureSpec));
+    }
+
+    private int computeCellSize(int width) {
+        int content = width - getPaddingLeft() - getPaddingRight() - (mColumnCount - 1) * mCellSpacing;
+        return Math.max(0, content / mColumnCount);
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        updateCellSize(w);
+    }
+
+    /**
+     * Hücre boyutu değiştiyse geometriyi, dokuyu ve yazıların konumlarını günceller.
+     */
+    private void updateCellSize(int width) {
+        int cellSize = computeCellSize(width);
+        if (cellSize != mCellSize) {
+            mCellSize = cellSize;
+            updateCellGeometry();
+            updateWaveShader();
+            updateTextLayout();
+        }
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (mWaveShader == null || mCellSize <= 0) {
+            return;
+        }
+        int cellStride = mCellSize + mCellSpacing;
+        float dy0 = WaveDrawable.DEFAULT_WATER_LEVEL_RATIO * mCellSize;
+        for (int i = 0; i < mGaugeCount; i++) {
+            float left = getPaddingLeft() + (i % mColumnCount) * cellStride;
+            float top = getPaddingTop() + (i / mColumnCount) * cellStride;
+            // Ekranda görünmeyen hücreleri atla.
+            if (canvas.quickReject(left, top, left + mCellSize, top + mCellSize, Canvas.EdgeType.AA)) {
+                continue;
+            }
+            int saveCount = canvas.save();
+            canvas.translate(left, top);
+            mShape.drawBackground(canvas, mWaveBgPaint, mBorderPaint);
+
+            float phase = mWaveShiftRatio + i * PHASE_STEP;
+            mWavePaint.setColor(mWaveColors[i]);
+            mShape.drawWave(canvas, mWavePaint, (phase - (int) phase) * mCellSize,
+                    dy0 - mWaterLevels[i] * mCellSize);
+            if (mLabels[i] != null) {
+                canvas.drawText(mLabels[i].getText(), 0, mLabels[i].getLength(), mLabelX[i], mLabelY, mLabelPaint);
+            }
+            if (!TextUtils.isEmpty(mTitles[i])) {
+                canvas.drawText(mTitles[i], mTitleX[i], mTitleY, mTitlePaint);
+            }
+            canvas.restoreToCount(saveCount);
+        }
+    }
+
+    private void updateCellGeometry() {
+        mShape.update(mCellSize, mCellSize, mBorderPaint.getStrokeWidth());
+    }
+
+    /**
+     * Tüm hücrelerin paylaştığı dokuyu havuzdan alır. Renk boyadan geldiği için doku renkten bağımsızdır.
+     * Doku sadece View penceredeyken tutulur; ayrılırken havuza bırakılır.
+     */
+    private void updateWaveShader() {
+        if (mCellSize <= 0 || !mAttached) {
+            return;
+        }
+        WaveLoadingView.TextureMode mode = WaveLoadingView.TextureMode.COMPACT_ALPHA_8;
+        if (mWaveTexture != null && mWaveTexture.matches(mCellSize, mCellSize, Color.BLACK,
+                WaveDrawable.DEFAULT_WAVE_LENGTH_RATIO, mode)) {
+            return;
+        }
+        releaseWaveTexture();
+        mWaveTexture = WaveTexturePool.getInstance().acquire(mCellSize, mCellSize, Color.BLACK,
+                WaveDrawable.DEFAULT_WAVE_LENGTH_RATIO, mode);
+        mWaveShader = new BitmapShader(mWaveTexture.getBitmap(), Shader.TileMode.REPEAT, Shader.TileMode.CLAMP);
+        updateShaderMatrix();
+        mWavePaint.setShader(mWaveShader);
+    }
+
+    private void updateShaderMatrix() {
+        if (mWaveShader != null) {
+            mShaderMatrix.setScale(1, mAmplitudeRatio / WaveDrawable.DEFAULT_AMPLITUDE_RATIO,
+                    0, mCellSize * WaveDrawable.DEFAULT_WATER_LEVEL_RATIO);
+            mShaderMatrix.preTranslate(0, mWaveTexture.getTop());
+            mWaveShader.setLocalMatrix(mShaderMatrix);
+        }
+    }
+
+    private void releaseWaveTexture() {
+        if (mWaveTexture != null) {
+            WaveTexturePool.getInstance().release(mWaveTexture);
+            mWaveTexture = null;
+            mWaveShader = null;
+            mWavePaint.setShader(null);
+        }
+    }
+
+    /**
+     * Etiket ve başlıkların hücre içindeki konumlarını hesaplar.
+     */
+    private void updateTextLayout() {
+        mLabelY = mCellSize / 2f - (mLabelPaint.descent() + mLabelPaint.ascent()) / 2;
+        mTitleY = mCellSize * 8 / 10f - (mTitlePaint.descent() + mTitlePaint.ascent()) / 2;
+        for (int i = 0; i < mGaugeCount; i++) {
+            measureLabel(i);
+            measureTitle(i);
+        }
+    }
+
+    private void measureLabel(int index) {
+        ProgressLabel label = mLabels[index];
+        if (label != null) {
+            mLabelX[index] = (mCellSize - mLabelPaint.measureText(label.getText(), 0, label.getLength())) / 2;
+        }
+    }
+
+    private void measureTitle(int index) {
+        if (!TextUtils.isEmpty(mTitles[index])) {
+            mTitleX[index] = (mCellSize - mTitlePaint.measureText(mTitles[index])) / 2;
+        }
+    }
+
+    /**
+     * Dalga kaymasını ve su seviyelerini kare zamanından hesaplar. Bir şey değişmediyse yeniden çizim istenmez.
+     *
+     * @param frameTimeNanos Karenin zamanı
+     */
+    private void doAnimationFrame(long frameTimeNanos) {
+        if (!mFrameRateController.shouldRender(frameTimeNanos, WaveFrameClock.getInstance().isConstrained())) {
+            return;
+        }
+        boolean changed = false;
+        if (isWaveMoving()) {
+            if (mWaveStartNanos < 0) {
+                mWaveStartNanos = frameTimeNanos;
+            }
+            long durationNanos = mAnimDuration * NANOS_PER_MILLI;
+            float shift = mWaveShiftOffset
+                    + (float) ((frameTimeNanos - mWaveStartNanos) % durationNanos) / durationNanos;
+            mWaveShiftRatio = shift >= 1f ? shift - 1f : shift;
+            changed = true;
+        }
+        for (int i = 0; i < mGaugeCount; i++) {
+            WaterLevelAnimator animator = mAnimators[i];
+            if (animator.isRunning()) {
+                animator.doFrame(frameTimeNanos);
+                setWaterLevel(i, animator.getValue());
+                changed = true;
+            }
+        }
+        if (changed) {
+            invalidate();
+        }
+        updateFrameCallback();
+    }
+
+    private boolean isWaveMoving() {
+        return mWaveRunning && mAnimDuration > 0;
+    }
+
+    private boolean isLevelAnimating() {
+        for (int i = 0; i < mGaugeCount; i++) {
+            if (mAnimators[i].isRunning()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void setWaterLevel(int index, float waterLevel) {
+        mWaterLevels[index] = waterLevel;
+        if (mLabels[index] != null && mLabels[index].setValue(Math.round(waterLevel * 100))) {
+            measureLabel(index);
+        }
+    }
+
+    /**
+     * Kare geri çağrısı sadece View görünürken ve dalga veya bir su seviyesi canlandırılıyorken eklenir.
+     */
+    private void updateFrameCallback() {
+        boolean needed = mAttached && isShown() && mGaugeCount > 0
+                && (isWaveMoving() || isLevelAnimating());
+        if (needed != mFrameCallbackAdded) {
+            mFrameCallbackAdded = needed;
+            if (needed) {
+                mWaveStartNanos = -1;
+                // İlk kare, durdurulmadan önceki son kareye göre kısılmasın.
+                mFrameRateController.reset();
+                WaveFrameClock.getInstance().addCallback(mFrameCallback);
+            } else {
+                // Devam ederken dalga sıçramasın.
+                mWaveShiftOffset = mWaveShiftRatio;
+                WaveFrameClock.getInstance().removeCallback(mFrameCallback);
+            }
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mAttached = true;
+        if (mFrameRateController.isAdaptive()) {
+            WaveFrameClock.getInstance().watchPowerSaveMode(getContext());
+        }
+        updateWaveShader();
+        updateFrameCallback();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        mAttached = false;
+        updateFrameCallback();
+        releaseWaveTexture();
+    }
+
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        updateFrameCallback();
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        updateFrameCallback();
+    }
+
+    /**
+     * Gösterge sayısını ayarlar. Mevcut göstergelerin durumu korunur.
+     *
+     * @param gaugeCount Varsayılan olarak 0.
+     */
+    public void setGaugeCount(int gaugeCount) {
+        gaugeCount = Math.max(0, gaugeCount);
+        if (gaugeCount == mGaugeCount && mProgressValues.length == gaugeCount) {
+            return;
+        }
+        int kept = Math.min(mGaugeCount, gaugeCount);
+        int[] progressValues = new int[gaugeCount];
+        float[] waterLevels = new float[gaugeCount];
+        WaterLevelAnimator[] animators = new WaterLevelAnimator[gaugeCount];
+        int[] waveColors = new int[gaugeCount];
+        String[] titles = new String[gaugeCount];
+        float[] titleX = new float[gaugeCount];
+        ProgressLabel[] labels = new ProgressLabel[gaugeCount];
+        float[] labelX = new float[gaugeCount];
+        System.arraycopy(mProgressValues, 0, progressValues, 0, kept);
+        System.arraycopy(mWaterLevels, 0, waterLevels, 0, kept);
+        System.arraycopy(mAnimators, 0, animators, 0, kept);
+        System.arraycopy(mWaveColors, 0, waveColors, 0, kept);
+        System.arraycopy(mTitles, 0, titles, 0, kept);
+        System.arraycopy(mTitleX, 0, titleX, 0, kept);
+        System.arraycopy(mLabels, 0, labels, 0, kept);
+        System.arraycopy(mLabelX, 0, labelX, 0, kept);
+        mProgressValues = progressValues;
+        mWaterLevels = waterLevels;
+        mAnimators = animators;
+        mWaveColors = waveColors;
+        mTitles = titles;
+        mTitleX = titleX;
+        mLabels = labels;
+        mLabelX = labelX;
+        for (int i = kept; i < gaugeCount; i++) {
+            mProgressValues[i] = mDefaultProgressValue;
+            mWaterLevels[i] = mDefaultProgressValue / 100f;
+            mAnimators[i] = new WaterLevelAnimator();
+            mAnimators[i].setValue(mWaterLevels[i]);
+            mWaveColors[i] = mWaveColor;
+            if (!TextUtils.isEmpty(mLabelFormat)) {
+                mLabels[i] = new ProgressLabel(mLabelFormat);
+                mLabels[i].setValue(mDefaultProgressValue);
+                measureLabel(i);
+            }
+        }
+        mGaugeCount = gaugeCount;
+        updateFrameCallback();
+        requestLayout();
+        invalidate();
+    }
+
+    public int getGaugeCount() {
+        return mGaugeCount;
+    }
+
+    /**
+     * @param columnCount Bir satırdaki gösterge sayısı. Varsayılan olarak 4.
+     */
+    public void setColumnCount(int columnCount) {
+        columnCount = Math.max(1, columnCount);
+        if (columnCount == mColumnCount) {
+            return;
+        }
+        mColumnCount = columnCount;
+        requestLayout();
+        // Boyutu sabit olan View'da onSizeChanged çağrılmaz; hücreler burada yeniden hesaplanır.
+        updateCellSize(getWidth());
+        invalidate();
+    }
+
+    public int getColumnCount() {
+        return mColumnCount;
+    }
+
+    /**
+     * Göstergenin su seviyesini yeni değere yönlendirir; animasyon sürerken sıçrama olmaz.
+     *
+     * @param index    Göstergenin sırası
+     * @param progress 0 ile 100 arası
+     */
+    public void setProgressValue(int index, int progress) {
+        mProgressValues[index] = progress;
+        if (mAnimators[index].animateTo((float) progress / 100)) {
+            updateFrameCallback();
+        }
+    }
+
+    public int getProgressValue(int index) {
+        return mProgressValues[index];
+    }
+
+    /**
+     * Tüm göstergelerin dalga rengini ayarlar. Doku renkten bağımsız olduğu için yeniden oluşturulmaz.
+     */
+    public void setWaveColor(int color) {
+        mWaveColor = color;
+        for (int i = 0; i < mGaugeCount; i++) {
+            mWaveColors[i] = color;
+        }
+        invalidate();
+    }
+
+    public void setWaveColor(int index, int color) {
+        mWaveColors[index] = color;
+        invalidate();
+    }
+
+    public int getWaveColor(int index) {
+        return mWaveColors[index];
+    }
+
+    public void setWaveBgColor(int color) {
+        mWaveBgPaint.setColor(color);
+        invalidate();
+    }
+
+    public void setBorderWidth(float width) {
+        mBorderPaint.setStrokeWidth(width);
+        updateCellGeometry();
+        invalidate();
+    }
+
+    public void setBorderColor(int color) {
+        mBorderPaint.setColor(color);
+        invalidate();
+    }
+
+    public void setShapeType(WaveLoadingView.ShapeType shapeType) {
+        mShape.mShapeType = shapeType.ordinal();
+        updateCellGeometry();
+        invalidate();
+    }
+
+    /**
+     * @param amplitudeRatio Varsayılan 50; 1000'e bölünerek oran olarak kullanılır.
+     */
+    public void setAmplitudeRatio(int amplitudeRatio) {
+        mAmplitudeRatio = Math.min((float) amplitudeRatio / 1000, WaveDrawable.DEFAULT_AMPLITUDE_RATIO);
+        updateShaderMatrix();
+        invalidate();
+    }
+
+    /**
+     * Göstergenin altında gösterilen başlık.
+     */
+    public void setTitle(int index, String title) {
+        mTitles[index] = title;
+        measureTitle(index);
+        invalidate();
+    }
+
+    public String getTitle(int index) {
+        return mTitles[index];
+    }
+
+    /**
+     * Her göstergenin ortasında su seviyesiyle birlikte sayan etiket.
+     *
+     * @param format Ör. "{p}%"; null ise etiket gösterilmez.
+     * @see WaveLoadingView#setProgressLabel(String)
+     */
+    public void setProgressLabel(String format) {
+        mLabelFormat = format;
+        for (int i = 0; i < mGaugeCount; i++) {
+            if (TextUtils.isEmpty(format)) {
+                mLabels[i] = null;
+            } else {
+                mLabels[i] = new ProgressLabel(format);
+                mLabels[i].setValue(Math.round(mWaterLevels[i] * 100));
+                measureLabel(i);
+            }
+        }
+        invalidate();
+    }
+
+    public String getProgressLabel() {
+        return mLabelFormat;
+    }
+
+    /**
+     * @see WaveLoadingView#setFrameRate(int)
+     */
+    public void setFrameRate(int frameRate) {
+        mFrameRateController.setFrameRate(frameRate);
+    }
+
+    public int getFrameRate() {
+        return mFrameRateController.getFrameRate();
+    }
+
+    /**
+     * @see WaveLoadingView#setAdaptiveFrameRate(boolean)
+     */
+    public void setAdaptiveFrameRate(boolean adaptiveFrameRate) {
+        mFrameRateController.setAdaptive(adaptiveFrameRate);
+        if (adaptiveFrameRate && getWindowToken() != null) {
+            WaveFrameClock.getInstance().watchPowerSaveMode(getContext());
+        }
+    }
+
+    public boolean isAdaptiveFrameRate() {
+        return mFrameRateController.isAdaptive();
+    }
+
+    /**
+     * Animasyonun uzunluğunu ayarlar. Varsayılan süre 1000 milisaniyedir.
+     *
+     * @param duration Milisaniye cinsinden animasyonun uzunluğu.
+     */
+    public void setAnimDuration(long duration) {
+        mWaveShiftOffset = mWaveShiftRatio;
+        mWaveStartNanos = -1;
+        mAnimDuration = duration;
+        updateFrameCallback();
+    }
+
+    /**
+     * Dalga animasyonunu, dalganın şu anki konumundan başlatır. Varsayılan olarak çalışır.
+     */
+    public void startAnimation() {
+        if (!mWaveRunning) {
+            mWaveRunning = true;
+            mWaveShiftOffset = mWaveShiftRatio;
+            mWaveStartNanos = -1;
+            updateFrameCallback();
+        }
+    }
+
+    /**
+     * Dalga animasyonunu durdurur. Süren su seviyesi animasyonları tamamlanır, sonra kare geri çağrısı kaldırılır.
+     */
+    public void cancelAnimation() {
+        if (mWaveRunning) {
+            mWaveRunning = false;
+            mWaveShiftOffset = mWaveShiftRatio;
+            updateFrameCallback();
+        }
+    }
+
+    public boolean isAnimationRunning() {
+        return mWaveRunning;
+    }
+
+    int getCellSize() {
+        return mCellSize;
+    }
+
+    private int sp2px(float spValue) {
+        final float fontScale = getResources().getDisplayMetrics().scaledDensity;
+        return (int) (spValue * fontScale + 0.5f);
+    }
+
+    private int dp2px(float dp) {
+        final float scale = getResources().getDisplayMetrics().density;
+        return (int) (dp * scale + 0.5f);
+    }
+}
@@ -1,65 +1,23 @@
 package me.itangqi.waveloadingview;
 
-import android.animation.AnimatorSet;
-import android.animation.ObjectAnimator;
-import android.animation.ValueAnimator;
-import android.annotation.TargetApi;
 import android.content.Context;
-import android.content.res.TypedArray;
-import android.graphics.Bitmap;
-import android.graphics.BitmapShader;
 import android.graphics.Canvas;
 import android.graphics.Color;
-import android.graphics.Matrix;
-import android.graphics.Paint;
-import android.graphics.Path;
-import android.graphics.Point;
-import android.graphics.RectF;
-import android.graphics.Shader;
-import android.os.Build;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.text.TextUtils;
 import android.util.AttributeSet;
 import android.view.View;
-import android.view.animation.DecelerateInterpolator;
-import android.view.animation.LinearInterpolator;
+import android.view.ViewTreeObserver;
 
-import me.itangqi.library.R;
+import java.io.PrintWriter;
 
 public class WaveLoadingView extends View {
-    /**
-     * +------------------------+
-     * | wave length - 波长      |__________
-     * |   /\          |   /\   |  |
-     * |  /  \         |  /  \  | amplitude - 振幅
-     * | /    \        | /    \ |  |
-     * |/      \       |/      \|__|_______
-     * |        \      /        |  |
-     * |         \    /         |  |
-     * |          \  /          |  |
-     * |           \/           | water level - 水位
-     * |                        |  |
-     * |                        |  |
-     * +------------------------+__|_______
-     */
-    private static final float DEFAULT_AMPLITUDE_RATIO = 0.1f;
-    private static final float DEFAULT_AMPLITUDE_VALUE = 50.0f;
-    private static final float DEFAULT_WATER_LEVEL_RATIO = 0.5f;
-    private static final float DEFAULT_WAVE_LENGTH_RATIO = 1.0f;
-    private static final float DEFAULT_WAVE_SHIFT_RATIO = 0.0f;
-    private static final int DEFAULT_WAVE_PROGRESS_VALUE = 50;
-    private static final int DEFAULT_WAVE_COLOR = Color.parseColor("#212121");
-    private static final int DEFAULT_WAVE_BACKGROUND_COLOR = Color.parseColor("#00000000");
-    private static final int DEFAULT_TITLE_COLOR = Color.parseColor("#212121");
-    private static final int DEFAULT_STROKE_COLOR = Color.TRANSPARENT;
-    private static final float DEFAULT_BORDER_WIDTH = 0;
-    private static final float DEFAULT_TITLE_STROKE_WIDTH = 0;
-    // This is incorrect/not recommended by Joshua Bloch in his book Effective Java (2nd ed).
-    private static final int DEFAULT_WAVE_SHAPE = ShapeType.CIRCLE.ordinal();
-    private static final int DEFAULT_TRIANGLE_DIRECTION = TriangleDirection.NORTH.ordinal();
-    private static final int DEFAULT_ROUND_RECTANGLE_X_AND_Y = 30;
-    private static final float DEFAULT_TITLE_TOP_SIZE = 18.0f;
-    private static final float DEFAULT_TITLE_CENTER_SIZE = 22.0f;
-    private static final float DEFAULT_TITLE_BOTTOM_SIZE = 18.0f;
+    // Ölçüm dinleyicisinin en fazla hangi sıklıkla çağrılacağı.
+    private static final long METRICS_REPORT_INTERVAL_MS = 1000;
 
     public enum ShapeType {
         TRIANGLE,
@@ -75,53 +33,72 @@ public class WaveLoadingView extends View {
         WEST
     }
 
+    /**
+     * Dalganın nasıl çizileceği.
+     * <p>
+     * BITMAP: Dalga CPU'da bir bitmap'e çizilir ve BitmapShader ile örneklenir (varsayılan).
+     * PATH: Dalga katmanları yol olarak çizilir, her karede sadece kaydırılır. Doku belleği kullanmaz.
+     * Tuval donanım hızlandırmalı değilse veya API 18 öncesinde (yol kırpma desteklenmez) otomatik olarak
+     * BITMAP moduna düşer. API 26 öncesinde daire, üçgen ve yuvarlak dikdörtgenin kırpma kenarları yumuşatılmaz.
+     */
+    public enum RenderMode {
+        BITMAP,
+        PATH
+    }
+
+    /**
+     * BITMAP modundaki dalga dokusunun nasıl saklanacağı.
+     * <p>
+     * FULL: View boyutunda ARGB_8888 doku (varsayılan).
+     * COMPACT: Sadece bir dalga boyu genişliğinde ve genlik bandı yüksekliğinde ARGB_8888 doku; bandın altı
+     * ve üstü kenar satırlarının uzatılmasıyla elde edilir. Bellek kullanımı yaklaşık 5 kat azalır.
+     * COMPACT_ALPHA_8: COMPACT ile aynı, fakat doku sadece saydamlığı tutar ve renk boyadan gelir.
+     * Bellek kullanımı yaklaşık 20 kat azalır; farklı renkteki aynı boyutlu View'lar da dokuyu paylaşır.
+     */
+    public enum TextureMode {
+        FULL,
+        COMPACT,
+        COMPACT_ALPHA_8
+    }
+
+    /**
+     * Ölçümler açıkken en fazla saniyede bir, çizimden sonra ana thread'de çağrılır.
+     */
+    public interface MetricsListener {
+        void onMetrics(WaveLoadingView view, WaveMetrics metrics);
+    }
+
     // Dinamik Özellikler.
     private int mCanvasSize;
     private int mCanvasHeight;
     private int mCanvasWidth;
-    private float mAmplitudeRatio;
-    private int mWaveBgColor;
-    private int mWaveColor;
-    private int mShapeType;
-    private int mTriangleDirection;
-    private int mRoundRectangleXY;
-
-    // Özellikler.
-    private String mTopTitle;
-    private String mCenterTitle;
-    private String mBottomTitle;
-    private float mDefaultWaterLevel;
-    private float mWaterLevelRatio = 1f;
-    private float mWaveShiftRatio = DEFAULT_WAVE_SHIFT_RATIO;
-    private int mProgressValue = DEFAULT_WAVE_PROGRESS_VALUE;
-    private boolean mIsRoundRectangle;
-
-    // Nesne çizmek için kullanılır.
-    // Tekrarlanan dalgalar için gölgelendirici.
-    private BitmapShader mWaveShader;
-    private Bitmap bitmapBuffer;
-    // Gölgelendirme matrisi.
-    private Matrix mShaderMatrix;
-    // Dalga çizme noktası.
-    private Paint mWavePaint;
-    //Dalga arka planı çizme noktası.
-    private Paint mWaveBgPaint;
-    // Sınırı çizme noktası.
-    private Paint mBorderPaint;
-    // Başlığı çizme noktası.
-    private Paint mTopTitlePaint;
-    private Paint mBottomTitlePaint;
-    private Paint mCenterTitlePaint;
-
-    private Paint mTopTitleStrokePaint;
-    private Paint mBottomTitleStrokePaint;
-    private Paint mCenterTitleStrokePaint;
-
-    // Animasyon.
-    private ObjectAnimator waveShiftAnim;
-    private AnimatorSet mAnimatorSet;
-
-    private Context mContext;
+
+    // Çizim ve animasyonu yapan Drawable; View sadece ölçüm, yaşam döngüsü ve görünürlükle ilgilenir.
+    private WaveDrawable mWaveDrawable;
+    // bind() ile bir listede kullanılıyorsa true; ayrılırken doku ve katmanlar bırakılmaz.
+    private boolean mRecycling;
+
+    private boolean mPauseWhenOffscreen;
+    private Rect mVisibleRect;
+    private final ViewTreeObserver.OnScrollChangedListener mScrollChangedListener =
+            new ViewTreeObserver.OnScrollChangedListener() {
+                @Override
+                public void onScrollChanged() {
+                    updateAnimationVisibility();
+                }
+            };
+    private final ViewTreeObserver.OnGlobalLayoutListener mGlobalLayoutListener =
+            new ViewTreeObserver.OnGlobalLayoutListener() {
+                @Override
+                public void onGlobalLayout() {
+                    updateAnimationVisibility();
+                }
+            };
+
+    private MetricsListener mMetricsListener;
+    private long mMetricsReportTime;
+
+    private final Editor mEditor = new Editor();
 
     // Yapıcı & Init Methodu.
     public WaveLoadingView(final Context context) {
@@ -138,228 +115,41 @@ public class WaveLoadingView extends View {
     }
 
     private void init(Context context, AttributeSet attrs, int defStyleAttr) {
-        mContext = context;
-        // Dalgayı ilkledik.
-        mShaderMatrix = new Matrix();
-        mWavePaint = new Paint();
-        //ANTI_ALIAS_FLAG, çizimin kenarlarını yumuşatır.
-        // fakat şeklin iç kısmı üzerinde hiçbir etkisi yoktur.Sadece dış çeperi yumuşatır.
-        mWavePaint.setAntiAlias(true);
-        mWaveBgPaint = new Paint();
-        mWaveBgPaint.setAntiAlias(true);
-        // Animasyonları ilkledik.
-        initAnimation();
-
-        //Stil özelliklerini yükledik ve set ettik.
-        TypedArray attributes = context.obtainStyledAttributes(attrs, R.styleable.WaveLoadingView, defStyleAttr, 0);
-
-        // Şekil Türünü İlkledik.
-        mShapeType = attributes.getInteger(R.styleable.WaveLoadingView_wlv_shapeType, DEFAULT_WAVE_SHAPE);
-
-        // Dalgayı İlkledik.
-        mWaveColor = attributes.getColor(R.styleable.WaveLoadingView_wlv_waveColor, DEFAULT_WAVE_COLOR);
-        mWaveBgColor = attributes.getColor(R.styleable.WaveLoadingView_wlv_wave_background_Color, DEFAULT_WAVE_BACKGROUND_COLOR);
-
-        mWaveBgPaint.setColor(mWaveBgColor);
-
-        // Dalga Sıklık Oranını İlkledik.
-        float amplitudeRatioAttr = attributes.getFloat(R.styleable.WaveLoadingView_wlv_waveAmplitude, DEFAULT_AMPLITUDE_VALUE) / 1000;
-        mAmplitudeRatio = (amplitudeRatioAttr > DEFAULT_AMPLITUDE_RATIO) ? DEFAULT_AMPLITUDE_RATIO : amplitudeRatioAttr;
-
-        // Progress'i İlkledik.
-        mProgressValue = attributes.getInteger(R.styleable.WaveLoadingView_wlv_progressValue, DEFAULT_WAVE_PROGRESS_VALUE);
-        setProgressValue(mProgressValue);
-
-        // Yuvarlak Dikdörtgeni İlkledik.
-        mIsRoundRectangle = attributes.getBoolean(R.styleable.WaveLoadingView_wlv_round_rectangle, false);
-        mRoundRectangleXY = attributes.getInteger(R.styleable.WaveLoadingView_wlv_round_rectangle_x_and_y, DEFAULT_ROUND_RECTANGLE_X_AND_Y);
-
-        // Üçgenin Yönünü İlkledik.
-        mTriangleDirection = attributes.getInteger(R.styleable.WaveLoadingView_wlv_triangle_direction, DEFAULT_TRIANGLE_DIRECTION);
-
-        // Kenarlığı İlkledik.
-        mBorderPaint = new Paint();
-        mBorderPaint.setAntiAlias(true);
-        mBorderPaint.setStyle(Paint.Style.STROKE);
-        mBorderPaint.setStrokeWidth(attributes.getDimension(R.styleable.WaveLoadingView_wlv_borderWidth, dp2px(DEFAULT_BORDER_WIDTH)));
-        mBorderPaint.setColor(attributes.getColor(R.styleable.WaveLoadingView_wlv_borderColor, DEFAULT_WAVE_COLOR));
-
-        // Üst Başlığı İlkledik.
-        mTopTitlePaint = new Paint();
-        mTopTitlePaint.setColor(attributes.getColor(R.styleable.WaveLoadingView_wlv_titleTopColor, DEFAULT_TITLE_COLOR));
-        mTopTitlePaint.setStyle(Paint.Style.FILL);
-        mTopTitlePaint.setAntiAlias(true);
-        mTopTitlePaint.setTextSize(attributes.getDimension(R.styleable.WaveLoadingView_wlv_titleTopSize, sp2px(DEFAULT_TITLE_TOP_SIZE)));
-
-        mTopTitleStrokePaint = new Paint();
-        mTopTitleStrokePaint.setColor(attributes.getColor(R.styleable.WaveLoadingView_wlv_titleTopStrokeColor, DEFAULT_STROKE_COLOR));
-        mTopTitleStrokePaint.setStrokeWidth(attributes.getDimension(R.styleable.WaveLoadingView_wlv_titleTopStrokeWidth, dp2px(DEFAULT_TITLE_STROKE_WIDTH)));
-        mTopTitleStrokePaint.setStyle(Paint.Style.STROKE);
-        mTopTitleStrokePaint.setAntiAlias(true);
-        mTopTitleStrokePaint.setTextSize(mTopTitlePaint.getTextSize());
-
-        mTopTitle = attributes.getString(R.styleable.WaveLoadingView_wlv_titleTop);
-
-        // Init Center Title
-        mCenterTitlePaint = new Paint();
-        mCenterTitlePaint.setColor(attributes.getColor(R.styleable.WaveLoadingView_wlv_titleCenterColor, DEFAULT_TITLE_COLOR));
-        mCenterTitlePaint.setStyle(Paint.Style.FILL);
-        mCenterTitlePaint.setAntiAlias(true);
-        mCenterTitlePaint.setTextSize(attributes.getDimension(R.styleable.WaveLoadingView_wlv_titleCenterSize, sp2px(DEFAULT_TITLE_CENTER_SIZE)));
-
-        mCenterTitleStrokePaint = new Paint();
-        mCenterTitleStrokePaint.setColor(attributes.getColor(R.styleable.WaveLoadingView_wlv_titleCenterStrokeColor, DEFAULT_STROKE_COLOR));
-        mCenterTitleStrokePaint.setStrokeWidth(attributes.getDimension(R.styleable.WaveLoadingView_wlv_titleCenterStrokeWidth, dp2px(DEFAULT_TITLE_STROKE_WIDTH)));
-        mCenterTitleStrokePaint.setStyle(Paint.Style.STROKE);
-        mCenterTitleStrokePaint.setAntiAlias(true);
-        mCenterTitleStrokePaint.setTextSize(mCenterTitlePaint.getTextSize());
-
-        mCenterTitle = attributes.getString(R.styleable.WaveLoadingView_wlv_titleCenter);
-
-        // Init Bottom Title
-        mBottomTitlePaint = new Paint();
-        mBottomTitlePaint.setColor(attributes.getColor(R.styleable.WaveLoadingView_wlv_titleBottomColor, DEFAULT_TITLE_COLOR));
-        mBottomTitlePaint.setStyle(Paint.Style.FILL);
-        mBottomTitlePaint.setAntiAlias(true);
-        mBottomTitlePaint.setTextSize(attributes.getDimension(R.styleable.WaveLoadingView_wlv_titleBottomSize, sp2px(DEFAULT_TITLE_BOTTOM_SIZE)));
-
-        mBottomTitleStrokePaint = new Paint();
-        mBottomTitleStrokePaint.setColor(attributes.getColor(R.styleable.WaveLoadingView_wlv_titleBottomStrokeColor, DEFAULT_STROKE_COLOR));
-        mBottomTitleStrokePaint.setStrokeWidth(attributes.getDimension(R.styleable.WaveLoadingView_wlv_titleBottomStrokeWidth, dp2px(DEFAULT_TITLE_STROKE_WIDTH)));
-        mBottomTitleStrokePaint.setStyle(Paint.Style.STROKE);
-        mBottomTitleStrokePaint.setAntiAlias(true);
-        mBottomTitleStrokePaint.setTextSize(mBottomTitlePaint.getTextSize());
-
-        mBottomTitle = attributes.getString(R.styleable.WaveLoadingView_wlv_titleBottom);
-
-        attributes.recycle();
+        mVisibleRect = new Rect();
+        //Stil özelliklerini yükledik ve set ettik. Aynı stildeki View'lar okunmuş değerleri paylaşır.
+        mWaveDrawable = new WaveDrawable(context, WaveStyle.obtain(context, attrs, defStyleAttr));
+        mWaveDrawable.setCallback(this);
+        // Pencereye eklenene kadar Drawable görünmez; kare saati ancak o zaman kullanılır.
+        updateAnimationVisibility();
+    }
+
+    /**
+     * @return Bu View'ın çizimini ve animasyonunu yapan Drawable
+     */
+    public WaveDrawable getWaveDrawable() {
+        return mWaveDrawable;
     }
 
     @Override
     public void onDraw(Canvas canvas) {
-        mCanvasSize = canvas.getWidth();
-        if (canvas.getHeight() < mCanvasSize) {
-            mCanvasSize = canvas.getHeight();
-        }
-        // Draw Wave.
-        // Modify paint shader according to mShowWave state.
-        if (mWaveShader != null) {
-            // First call after mShowWave, assign it to our paint.
-            if (mWavePaint.getShader() == null) {
-                mWavePaint.setShader(mWaveShader);
-            }
-
-            // Dalga uzunluğuna ve genlik oranına göre ölçeklendiriciyi ölçeklendirin.
-            // TDalgaların boyutlarını belirler (genişlik için waveLengthRatio , yükseklik için amplitudeRatio ).
-            mShaderMatrix.setScale(1, mAmplitudeRatio / DEFAULT_AMPLITUDE_RATIO, 0, mDefaultWaterLevel);
-            // Shader'ı waveShiftRatio ve waterLevelRatio'ya göre çevir.
-            // Bu, başlangıç konumlarına (x için waveShiftRatio, y için waterLevelRatio) karar verir.
-            mShaderMatrix.postTranslate(mWaveShiftRatio * getWidth(),
-                    (DEFAULT_WATER_LEVEL_RATIO - mWaterLevelRatio) * getHeight());
-
-            // Gölgelendiriciyi geçersiz kılmak için matris atayın.
-            mWaveShader.setLocalMatrix(mShaderMatrix);
-
-            // BorderWidth'i al.
-            float borderWidth = mBorderPaint.getStrokeWidth();
-
-            // Varsayılan tip üçgendir.
-            switch (mShapeType) {
-                // Draw triangle
-                case 0:
-                    // Şu anda sınır ayarlarını desteklemiyor
-                    Point start = new Point(0, getHeight());
-                    Path triangle = getEquilateralTriangle(start, getWidth(), getHeight(), mTriangleDirection);
-                    canvas.drawPath(triangle, mWaveBgPaint);
-                    canvas.drawPath(triangle, mWavePaint);
-                    break;
-                // Daire çiz
-                case 1:
-                    if (borderWidth > 0) {
-                        canvas.drawCircle(getWidth() / 2f, getHeight() / 2f,
-                                (getWidth() - borderWidth) / 2f - 1f, mBorderPaint);
-                    }
-
-                    float radius = getWidth() / 2f - borderWidth;
-                    // Arkaplanı çiz
-                    canvas.drawCircle(getWidth() / 2f, getHeight() / 2f, radius, mWaveBgPaint);
-                    canvas.drawCircle(getWidth() / 2f, getHeight() / 2f, radius, mWavePaint);
-                    break;
-                // Kare çiz
-                case 2:
-                    if (borderWidth > 0) {
-                        canvas.drawRect(
-                                borderWidth / 2f,
-                                borderWidth / 2f,
-                                getWidth() - borderWidth / 2f - 0.5f,
-                                getHeight() - borderWidth / 2f - 0.5f,
-                                mBorderPaint);
-                    }
-
-                    canvas.drawRect(borderWidth, borderWidth, getWidth() - borderWidth,
-                            getHeight() - borderWidth, mWaveBgPaint);
-                    canvas.drawRect(borderWidth, borderWidth, getWidth() - borderWidth,
-                            getHeight() - borderWidth, mWavePaint);
-                    break;
-                // Dikdörtgen çiz
-                case 3:
-                    if (mIsRoundRectangle) {
-                        if (borderWidth > 0) {
-                            RectF rect = new RectF(borderWidth / 2f, borderWidth / 2f, getWidth() - borderWidth / 2f - 0.5f, getHeight() - borderWidth / 2f - 0.5f);
-                            canvas.drawRoundRect(rect, mRoundRectangleXY, mRoundRectangleXY, mBorderPaint);
-                            canvas.drawRoundRect(rect, mRoundRectangleXY, mRoundRectangleXY, mWaveBgPaint);
-                            canvas.drawRoundRect(rect, mRoundRectangleXY, mRoundRectangleXY, mWavePaint);
-                        } else {
-                            RectF rect = new RectF(0, 0, getWidth(), getHeight());
-                            canvas.drawRoundRect(rect, mRoundRectangleXY, mRoundRectangleXY, mWaveBgPaint);
-                            canvas.drawRoundRect(rect, mRoundRectangleXY, mRoundRectangleXY, mWavePaint);
-                        }
-                    } else {
-                        if (borderWidth > 0) {
-                            canvas.drawRect(borderWidth / 2f, borderWidth / 2f, getWidth() - borderWidth / 2f - 0.5f, getHeight() - borderWidth / 2f - 0.5f, mWaveBgPaint);
-                            canvas.drawRect(borderWidth / 2f, borderWidth / 2f, getWidth() - borderWidth / 2f - 0.5f, getHeight() - borderWidth / 2f - 0.5f, mWavePaint);
-                        } else {
-                            canvas.drawRect(0, 0, canvas.getWidth(), canvas.getHeight(), mWaveBgPaint);
-                            canvas.drawRect(0, 0, canvas.getWidth(), canvas.getHeight(), mWavePaint);
-                        }
-                    }
-                    break;
-                default:
-                    break;
-            }
-
-            // I know, the code written here is very shit.
-            if (!TextUtils.isEmpty(mTopTitle)) {
-                float top = mTopTitlePaint.measureText(mTopTitle);
-                // Üst metnin vuruşunu çiz
-                canvas.drawText(mTopTitle, (getWidth() - top) / 2,
-                        getHeight() * 2 / 10.0f, mTopTitleStrokePaint);
-                // Üst Metni çiz
-                canvas.drawText(mTopTitle, (getWidth() - top) / 2,
-                        getHeight() * 2 / 10.0f, mTopTitlePaint);
-            }
+        mWaveDrawable.draw(canvas);
+        if (mMetricsListener != null && mWaveDrawable.isMetricsEnabled()) {
+            reportMetrics();
+        }
+    }
 
-            if (!TextUtils.isEmpty(mCenterTitle)) {
-                float middle = mCenterTitlePaint.measureText(mCenterTitle);
-                // Orta Metnin kontorunu çiz
-                canvas.drawText(mCenterTitle, (getWidth() - middle) / 2,
-                        getHeight() / 2 - ((mCenterTitleStrokePaint.descent() + mCenterTitleStrokePaint.ascent()) / 2), mCenterTitleStrokePaint);
-                // Ortalanmış metni çiz
-                canvas.drawText(mCenterTitle, (getWidth() - middle) / 2,
-                        getHeight() / 2 - ((mCenterTitlePaint.descent() + mCenterTitlePaint.ascent()) / 2), mCenterTitlePaint);
-            }
+    @Override
+    protected boolean verifyDrawable(Drawable who) {
+        return who == mWaveDrawable || super.verifyDrawable(who);
+    }
 
-            if (!TextUtils.isEmpty(mBottomTitle)) {
-                float bottom = mBottomTitlePaint.measureText(mBottomTitle);
-                // Alt metnin kontorunu çiz
-                canvas.drawText(mBottomTitle, (getWidth() - bottom) / 2,
-                        getHeight() * 8 / 10.0f - ((mBottomTitleStrokePaint.descent() + mBottomTitleStrokePaint.ascent()) / 2), mBottomTitleStrokePaint);
-                // Alt metni çiz
-                canvas.drawText(mBottomTitle, (getWidth() - bottom) / 2,
-                        getHeight() * 8 / 10.0f - ((mBottomTitlePaint.descent() + mBottomTitlePaint.ascent()) / 2), mBottomTitlePaint);
-            }
+    @Override
+    public void invalidateDrawable(Drawable drawable) {
+        if (drawable == mWaveDrawable) {
+            // Drawable View'ın tamamını kaplar.
+            invalidate();
         } else {
-            mWavePaint.setShader(null);
+            super.invalidateDrawable(drawable);
         }
     }
 
@@ -375,61 +165,7 @@ public class WaveLoadingView extends View {
             if (h < mCanvasSize)
                 mCanvasSize = h;
         }
-        updateWaveShader();
-    }
-
-    private void updateWaveShader() {
-        // IllegalArgumentException: View'dan Bitmap'i yüklerken genişlik ve yükseklik > 0 olmalıdır
-        // http://stackoverflow.com/questions/17605662/illegalargumentexception-width-and-height-must-be-0-while-loading-bitmap-from
-        if (bitmapBuffer == null || haveBoundsChanged()) {
-            if (bitmapBuffer != null)
-                bitmapBuffer.recycle();
-            int width = getMeasuredWidth();
-            int height = getMeasuredHeight();
-            if (width > 0 && height > 0) {
-                double defaultAngularFrequency = 2.0f * Math.PI / DEFAULT_WAVE_LENGTH_RATIO / width;
-                float defaultAmplitude = height * DEFAULT_AMPLITUDE_RATIO;
-                mDefaultWaterLevel = height * DEFAULT_WATER_LEVEL_RATIO;
-                float defaultWaveLength = width;
-
-                Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
-                Canvas canvas = new Canvas(bitmap);
-
-                Paint wavePaint = new Paint();
-                wavePaint.setStrokeWidth(2);
-                wavePaint.setAntiAlias(true);
-
-                // Varsayılan dalgaları bitmap'e çizin.
-                // y=Asin(ωx+φ)+h
-                final int endX = width + 1;
-                final int endY = height + 1;
-
-                float[] waveY = new float[endX];
-
-                wavePaint.setColor(adjustAlpha(mWaveColor, 0.3f));
-                for (int beginX = 0; beginX < endX; beginX++) {
-                    double wx = beginX * defaultAngularFrequency;
-                    float beginY = (float) (mDefaultWaterLevel + defaultAmplitude * Math.sin(wx));
-                    canvas.drawLine(beginX, beginY, beginX, endY, wavePaint);
-                    waveY[beginX] = beginY;
-                }
-
-                wavePaint.setColor(mWaveColor);
-                final int wave2Shift = (int) (defaultWaveLength / 4);
-                for (int beginX = 0; beginX < endX; beginX++) {
-                    canvas.drawLine(beginX, waveY[(beginX + wave2Shift) % endX], beginX, endY, wavePaint);
-                }
-
-                // Gölgelendiriciyi oluşturmak için bitmap'i kullanın.
-                mWaveShader = new BitmapShader(bitmap, Shader.TileMode.REPEAT, Shader.TileMode.CLAMP);
-                this.mWavePaint.setShader(mWaveShader);
-            }
-        }
-    }
-
-    private boolean haveBoundsChanged() {
-        return getMeasuredWidth() != bitmapBuffer.getWidth() ||
-                getMeasuredHeight() != bitmapBuffer.getHeight();
+        mWaveDrawable.setBounds(0, 0, w, h);
     }
 
     @Override
@@ -484,54 +220,69 @@ public class WaveLoadingView extends View {
 
 
     public void setWaveBgColor(int color) {
-        this.mWaveBgColor = color;
-        mWaveBgPaint.setColor(this.mWaveBgColor);
-        updateWaveShader();
-        invalidate();
+        mWaveDrawable.setWaveBgColor(color);
     }
 
     public int getWaveBgColor() {
-        return mWaveBgColor;
+        return mWaveDrawable.getWaveBgColor();
     }
 
     public void setWaveColor(int color) {
-        mWaveColor = color;
-        // Renk değiştiğinde gölgelendiriciyi yeniden oluşturmanız mı gerekiyor?
-//        mWaveShader = null; yapmalısınız
-        updateWaveShader();
-        invalidate();
+        mWaveDrawable.setWaveColor(color);
     }
 
     public int getWaveColor() {
-        return mWaveColor;
+        return mWaveDrawable.getWaveColor();
     }
 
     public void setBorderWidth(float width) {
-        mBorderPaint.setStrokeWidth(width);
-        invalidate();
+        mWaveDrawable.setBorderWidth(width);
     }
 
     public float getBorderWidth() {
-        return mBorderPaint.getStrokeWidth();
+        return mWaveDrawable.getBorderWidth();
     }
 
     public void setBorderColor(int color) {
-        mBorderPaint.setColor(color);
-        updateWaveShader();
-        invalidate();
+        mWaveDrawable.setBorderColor(color);
     }
 
     public int getBorderColor() {
-        return mBorderPaint.getColor();
+        return mWaveDrawable.getBorderColor();
     }
 
     public void setShapeType(ShapeType shapeType) {
-        mShapeType = shapeType.ordinal();
-        invalidate();
+        mWaveDrawable.setShapeType(shapeType);
     }
 
     public int getShapeType() {
-        return mShapeType;
+        return mWaveDrawable.getShapeType();
+    }
+
+    /**
+     * Dalganın çizim modunu ayarlar.
+     *
+     * @param renderMode Varsayılan olarak {@link RenderMode#BITMAP}.
+     */
+    public void setRenderMode(RenderMode renderMode) {
+        mWaveDrawable.setRenderMode(renderMode);
+    }
+
+    public RenderMode getRenderMode() {
+        return mWaveDrawable.getRenderMode();
+    }
+
+    /**
+     * BITMAP modundaki dalga dokusunun saklanma biçimini ayarlar.
+     *
+     * @param textureMode Varsayılan olarak {@link TextureMode#FULL}.
+     */
+    public void setTextureMode(TextureMode textureMode) {
+        mWaveDrawable.setTextureMode(textureMode);
+    }
+
+    public TextureMode getTextureMode() {
+        return mWaveDrawable.getTextureMode();
     }
 
     /**
@@ -540,55 +291,51 @@ public class WaveLoadingView extends View {
      * @param amplitudeRatio Varsayılan 0,05 olacak. amplitudeRatio + waterLevelRatio sonucu 1'den az olmalıdır.
      */
     public void setAmplitudeRatio(int amplitudeRatio) {
-        if (this.mAmplitudeRatio != (float) amplitudeRatio / 1000) {
-            this.mAmplitudeRatio = (float) amplitudeRatio / 1000;
-            invalidate();
-        }
+        mWaveDrawable.setAmplitudeRatio(amplitudeRatio);
     }
 
     public float getAmplitudeRatio() {
-        return mAmplitudeRatio;
+        return mWaveDrawable.getAmplitudeRatio();
     }
 
     /**
      * Su seviyesi 0'dan WaveView değerine yükseliyor.
+     * Animasyon sürerken çağrılırsa seviye sıçramadan yeni hedefe yönelir; hedef değişmediyse hiçbir şey yapılmaz.
      *
      * @param progress Varsayılan olarak 50.
      */
     public void setProgressValue(int progress) {
-        mProgressValue = progress;
-        ObjectAnimator waterLevelAnim = ObjectAnimator.ofFloat(this, "waterLevelRatio", mWaterLevelRatio, ((float) mProgressValue / 100));
-        waterLevelAnim.setDuration(1000);
-        waterLevelAnim.setInterpolator(new DecelerateInterpolator());
-        AnimatorSet animatorSetProgress = new AnimatorSet();
-        animatorSetProgress.play(waterLevelAnim);
-        animatorSetProgress.start();
+        mWaveDrawable.setProgressValue(progress);
+    }
+
+    /**
+     * {@link #setProgressValue(int)} metodunun herhangi bir thread'den çağrılabilen hali.
+     * Ana thread'e ulaşmadan gelen ardışık değerlerden sadece en sonuncusu uygulanır.
+     *
+     * @param progress Varsayılan olarak 50.
+     */
+    public void postProgress(int progress) {
+        mWaveDrawable.postProgress(progress);
     }
 
     public int getProgressValue() {
-        return mProgressValue;
+        return mWaveDrawable.getProgressValue();
     }
 
     public void setWaveShiftRatio(float waveShiftRatio) {
-        if (this.mWaveShiftRatio != waveShiftRatio) {
-            this.mWaveShiftRatio = waveShiftRatio;
-            invalidate();
-        }
+        mWaveDrawable.setWaveShiftRatio(waveShiftRatio);
     }
 
     public float getWaveShiftRatio() {
-        return mWaveShiftRatio;
+        return mWaveDrawable.getWaveShiftRatio();
     }
 
     public void setWaterLevelRatio(float waterLevelRatio) {
-        if (this.mWaterLevelRatio != waterLevelRatio) {
-            this.mWaterLevelRatio = waterLevelRatio;
-            invalidate();
-        }
+        mWaveDrawable.setWaterLevelRatio(waterLevelRatio);
     }
 
     public float getWaterLevelRatio() {
-        return mWaterLevelRatio;
+        return mWaveDrawable.getWaterLevelRatio();
     }
 
     /**
@@ -597,136 +344,379 @@ public class WaveLoadingView extends View {
      * @param topTitle Varsayılan değer null.
      */
     public void setTopTitle(String topTitle) {
-        mTopTitle = topTitle;
+        mWaveDrawable.setTopTitle(topTitle);
     }
 
     public String getTopTitle() {
-        return mTopTitle;
+        return mWaveDrawable.getTopTitle();
     }
 
     public void setCenterTitle(String centerTitle) {
-        mCenterTitle = centerTitle;
+        mWaveDrawable.setCenterTitle(centerTitle);
     }
 
     public String getCenterTitle() {
-        return mCenterTitle;
+        return mWaveDrawable.getCenterTitle();
+    }
+
+    /**
+     * Orta başlık yerine, su seviyesiyle birlikte sayan bir ilerleme etiketi gösterir.
+     * Etiket her güncellemede yeni bir String oluşturmadan tekrar kullanılan bir tampondan çizilir;
+     * {@code setCenterTitle(progress + "%")} yerine kullanılabilir.
+     *
+     * @param format {@value ProgressLabel#PLACEHOLDER} yerine yüzdenin yazıldığı biçim, ör. "{p}%".
+     *               null ise etiket kapatılır ve orta başlık gösterilir.
+     */
+    public void setProgressLabel(String format) {
+        mWaveDrawable.setProgressLabel(format);
+    }
+
+    public String getProgressLabel() {
+        return mWaveDrawable.getProgressLabel();
     }
 
     public void setBottomTitle(String bottomTitle) {
-        mBottomTitle = bottomTitle;
+        mWaveDrawable.setBottomTitle(bottomTitle);
     }
 
     public String getBottomTitle() {
-        return mBottomTitle;
+        return mWaveDrawable.getBottomTitle();
     }
 
     public void setTopTitleColor(int topTitleColor) {
-        mTopTitlePaint.setColor(topTitleColor);
+        mWaveDrawable.setTopTitleColor(topTitleColor);
     }
 
     public int getTopTitleColor() {
-        return mTopTitlePaint.getColor();
+        return mWaveDrawable.getTopTitleColor();
     }
 
     public void setCenterTitleColor(int centerTitleColor) {
-        mCenterTitlePaint.setColor(centerTitleColor);
+        mWaveDrawable.setCenterTitleColor(centerTitleColor);
     }
 
     public int getCenterTitleColor() {
-        return mCenterTitlePaint.getColor();
+        return mWaveDrawable.getCenterTitleColor();
     }
 
     public void setBottomTitleColor(int bottomTitleColor) {
-        mBottomTitlePaint.setColor(bottomTitleColor);
+        mWaveDrawable.setBottomTitleColor(bottomTitleColor);
     }
 
     public int getBottomTitleColor() {
-        return mBottomTitlePaint.getColor();
+        return mWaveDrawable.getBottomTitleColor();
     }
 
     public void setTopTitleSize(float topTitleSize) {
-        mTopTitlePaint.setTextSize(sp2px(topTitleSize));
+        mWaveDrawable.setTopTitleSize(topTitleSize);
     }
 
     public float getsetTopTitleSize() {
-        return mTopTitlePaint.getTextSize();
+        return mWaveDrawable.getTopTitleSize();
     }
 
     public void setCenterTitleSize(float centerTitleSize) {
-        mCenterTitlePaint.setTextSize(sp2px(centerTitleSize));
+        mWaveDrawable.setCenterTitleSize(centerTitleSize);
     }
 
     public float getCenterTitleSize() {
-        return mCenterTitlePaint.getTextSize();
+        return mWaveDrawable.getCenterTitleSize();
     }
 
     public void setBottomTitleSize(float bottomTitleSize) {
-        mBottomTitlePaint.setTextSize(sp2px(bottomTitleSize));
+        mWaveDrawable.setBottomTitleSize(bottomTitleSize);
     }
 
     public float getBottomTitleSize() {
-        return mBottomTitlePaint.getTextSize();
+        return mWaveDrawable.getBottomTitleSize();
     }
 
     public void setTopTitleStrokeWidth(float topTitleStrokeWidth) {
-        mTopTitleStrokePaint.setStrokeWidth(dp2px(topTitleStrokeWidth));
+        mWaveDrawable.setTopTitleStrokeWidth(topTitleStrokeWidth);
     }
 
     public void setTopTitleStrokeColor(int topTitleStrokeColor) {
-        mTopTitleStrokePaint.setColor(topTitleStrokeColor);
+        mWaveDrawable.setTopTitleStrokeColor(topTitleStrokeColor);
     }
 
     public void setBottomTitleStrokeWidth(float bottomTitleStrokeWidth) {
-        mBottomTitleStrokePaint.setStrokeWidth(dp2px(bottomTitleStrokeWidth));
+        mWaveDrawable.setBottomTitleStrokeWidth(bottomTitleStrokeWidth);
     }
 
     public void setBottomTitleStrokeColor(int bottomTitleStrokeColor) {
-        mBottomTitleStrokePaint.setColor(bottomTitleStrokeColor);
+        mWaveDrawable.setBottomTitleStrokeColor(bottomTitleStrokeColor);
     }
 
     public void setCenterTitleStrokeWidth(float centerTitleStrokeWidth) {
-        mCenterTitleStrokePaint.setStrokeWidth(dp2px(centerTitleStrokeWidth));
+        mWaveDrawable.setCenterTitleStrokeWidth(centerTitleStrokeWidth);
     }
 
     public void setCenterTitleStrokeColor(int centerTitleStrokeColor) {
-        mCenterTitleStrokePaint.setColor(centerTitleStrokeColor);
+        mWaveDrawable.setCenterTitleStrokeColor(centerTitleStrokeColor);
+    }
+
+    /**
+     * Başlıkların en fazla kaç satıra yayılabileceğini ayarlar.
+     *
+     * @param maxLines Varsayılan olarak 1.
+     */
+    public void setTitleMaxLines(int maxLines) {
+        mWaveDrawable.setTitleMaxLines(maxLines);
+    }
+
+    public int getTitleMaxLines() {
+        return mWaveDrawable.getTitleMaxLines();
+    }
+
+    /**
+     * View'a sığmayan başlıkların nereden kısaltılacağını ayarlar.
+     *
+     * @param ellipsize Varsayılan olarak {@link TextUtils.TruncateAt#END}; null ise metin kesilir.
+     */
+    public void setTitleEllipsize(TextUtils.TruncateAt ellipsize) {
+        mWaveDrawable.setTitleEllipsize(ellipsize);
+    }
+
+    public TextUtils.TruncateAt getTitleEllipsize() {
+        return mWaveDrawable.getTitleEllipsize();
     }
 
     public void startAnimation() {
-        if (mAnimatorSet != null) {
-            mAnimatorSet.start();
-        }
+        mWaveDrawable.start();
+        updateAnimationVisibility();
     }
 
     public void endAnimation() {
-        if (mAnimatorSet != null) {
-            mAnimatorSet.end();
-        }
+        mWaveDrawable.stop();
+        mWaveDrawable.setWaveShiftRatio(1f);
     }
 
     public void cancelAnimation() {
-        if (mAnimatorSet != null) {
-            mAnimatorSet.cancel();
-        }
+        mWaveDrawable.stop();
     }
 
-    @TargetApi(Build.VERSION_CODES.KITKAT)
-    @SuppressWarnings("deprecation")
     public void pauseAnimation() {
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
-            if (mAnimatorSet != null) {
-                mAnimatorSet.pause();
+        mWaveDrawable.pause();
+    }
+
+    public void resumeAnimation() {
+        mWaveDrawable.resume();
+        updateAnimationVisibility();
+    }
+
+    /**
+     * View ekranın dışına kaydırıldığında (ör. ViewPager'ın görünmeyen bir sayfası) da animasyonu duraklatır.
+     * View'ın görünür alanı, kaydırma ve yerleşim değişikliklerinde üst View'ların kırpma alanına göre kontrol edilir.
+     *
+     * @param pauseWhenOffscreen Varsayılan olarak false.
+     */
+    public void setPauseWhenOffscreen(boolean pauseWhenOffscreen) {
+        if (mPauseWhenOffscreen == pauseWhenOffscreen) {
+            return;
+        }
+        mPauseWhenOffscreen = pauseWhenOffscreen;
+        if (getWindowToken() != null) {
+            if (pauseWhenOffscreen) {
+                addOffscreenListeners();
+            } else {
+                removeOffscreenListeners();
             }
         }
+        updateAnimationVisibility();
     }
 
-    @TargetApi(Build.VERSION_CODES.KITKAT)
-    @SuppressWarnings("deprecation")
-    public void resumeAnimation() {
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
-            if (mAnimatorSet != null) {
-                mAnimatorSet.resume();
+    public boolean isPauseWhenOffscreen() {
+        return mPauseWhenOffscreen;
+    }
+
+    /**
+     * Dalga karelerinde View'ın tamamı yerine sadece dalganın genlik bandını geçersiz kılar; kenarlık,
+     * bandın dışındaki arka plan ve başlıklar yeniden çizilmez. Büyük dikdörtgen View'larda piksel
+     * doldurma maliyetini düşürür.
+     * <p>
+     * Sadece yazılımla çizilen pencerelerde ve {@link #LAYER_TYPE_SOFTWARE} katmanlarında etkilidir. Varsayılan
+     * olan donanım hızlandırmalı çizimde kirli alanlar yok sayılıp View her karede tamamen kaydedildiği için bu
+     * ayar orada bir şey değiştirmez ve bant hesaplanmaz; donanım hızlandırmalı çizimde kare başına işi
+     * azaltmak için {@link #setStaticLayerCache(boolean)} kullanılmalıdır.
+     *
+     * @param partialInvalidate Varsayılan olarak false.
+     */
+    public void setPartialInvalidate(boolean partialInvalidate) {
+        mWaveDrawable.setPartialInvalidate(partialInvalidate);
+    }
+
+    public boolean isPartialInvalidate() {
+        return mWaveDrawable.isPartialInvalidate();
+    }
+
+    /**
+     * Kenarlık, arka plan ve başlıkları View boyutunda bitmap katmanlarına bir kez çizer; her karede
+     * dalga bu iki katmanın arasına yerleştirilir ve kare başına çizim çağrısı sayısı üçe iner.
+     * Katmanlar sadece ilgili özellikler veya boyut değiştiğinde yeniden çizilir.
+     * <p>
+     * Karşılığında View başına iki adede kadar ARGB_8888 bitmap kadar bellek kullanır.
+     *
+     * @param staticLayerCache Varsayılan olarak false.
+     */
+    public void setStaticLayerCache(boolean staticLayerCache) {
+        mWaveDrawable.setStaticLayerCache(staticLayerCache);
+    }
+
+    public boolean isStaticLayerCache() {
+        return mWaveDrawable.isStaticLayerCache();
+    }
+
+    /**
+     * Dalga dokusunu ana thread yerine {@link WaveTexturePool#getGenerationExecutor()} üzerinde oluşturur.
+     * Yeni doku hazır olana kadar eski doku veya suyun düz bir dolgusu gösterilir ve hazır olduğu ilk karede
+     * değiştirilir. Bu arada boyut veya renk tekrar değişirse eski istek iptal edilir.
+     * <p>
+     * Büyük View'ların açıldığı ekranlarda ilk karedeki takılmayı önler. Havuzda zaten bulunan dokular
+     * beklemeden kullanılır.
+     *
+     * @param asyncTexture Varsayılan olarak false.
+     */
+    public void setAsyncTexture(boolean asyncTexture) {
+        mWaveDrawable.setAsyncTexture(asyncTexture);
+    }
+
+    public boolean isAsyncTexture() {
+        return mWaveDrawable.isAsyncTexture();
+    }
+
+    /**
+     * Dalga animasyonunun en fazla kaç fps ile çizileceğini ayarlar. Dalganın konumu kare zamanından
+     * hesaplandığı için dalga hızı değişmez; 20-30 fps çoğu süre için yeterince akıcıdır.
+     *
+     * @param frameRate Saniyedeki kare sayısı; 0 ise ekranın yenileme hızı kullanılır. Varsayılan olarak 0.
+     */
+    public void setFrameRate(int frameRate) {
+        mWaveDrawable.setFrameRate(frameRate);
+    }
+
+    public int getFrameRate() {
+        return mWaveDrawable.getFrameRate();
+    }
+
+    /**
+     * Cihaz güç tasarrufu modundayken (API 21+) veya ana thread kare kaçırırken kare hızını
+     * {@value FrameRateController#REDUCED_FRAME_RATE} fps'e düşürür. Koşullar ortadan kalkınca
+     * {@link #setFrameRate(int)} ile ayarlanan hıza dönülür.
+     *
+     * @param adaptiveFrameRate Varsayılan olarak false.
+     */
+    public void setAdaptiveFrameRate(boolean adaptiveFrameRate) {
+        mWaveDrawable.setAdaptiveFrameRate(adaptiveFrameRate);
+    }
+
+    public boolean isAdaptiveFrameRate() {
+        return mWaveDrawable.isAdaptiveFrameRate();
+    }
+
+    /**
+     * Çizim süresi, doku yeniden oluşturma ve bellek ölçümlerini açar veya kapatır. Varsayılan olarak kapalıdır;
+     * kapalıyken kare başına sadece bir null kontrolü yapılır. Kapatmak toplanan ölçümleri siler.
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        if (enabled == mWaveDrawable.isMetricsEnabled()) {
+            return;
+        }
+        mWaveDrawable.setMetricsEnabled(enabled);
+        mMetricsReportTime = 0;
+    }
+
+    public boolean isMetricsEnabled() {
+        return mWaveDrawable.isMetricsEnabled();
+    }
+
+    /**
+     * @return Toplanan ölçümler; ölçümler kapalıysa null
+     */
+    public WaveMetrics getMetrics() {
+        return mWaveDrawable.getMetrics();
+    }
+
+    /**
+     * Ölçümleri periyodik olarak almak için dinleyici ayarlar. Null olmayan bir dinleyici ölçümleri de açar.
+     */
+    public void setMetricsListener(MetricsListener listener) {
+        mMetricsListener = listener;
+        if (listener != null) {
+            setMetricsEnabled(true);
+        }
+    }
+
+    /**
+     * Ölçümleri dumpsys biçiminde yazar. Activity.dump() içinden çağrılırsa
+     * {@code adb shell dumpsys activity <paket>} çıktısında görünür.
+     */
+    public void dumpMetrics(String prefix, PrintWriter writer) {
+        writer.print(prefix);
+        writer.print("WaveLoadingView");
+        if (getId() != NO_ID) {
+            writer.print(" id=0x");
+            writer.print(Integer.toHexString(getId()));
+        }
+        writer.print(" size=");
+        writer.print(getWidth());
+        writer.print("x");
+        writer.println(getHeight());
+        if (!mWaveDrawable.isMetricsEnabled()) {
+            writer.print(prefix);
+            writer.println("  metrics disabled");
+            return;
+        }
+        getMetrics().dump(prefix + "  ", writer);
+    }
+
+    private void reportMetrics() {
+        long now = SystemClock.uptimeMillis();
+        if (now - mMetricsReportTime < METRICS_REPORT_INTERVAL_MS) {
+            return;
+        }
+        mMetricsReportTime = now;
+        mMetricsListener.onMetrics(this, getMetrics());
+    }
+
+    /**
+     * {@link #prewarm(Context, int, int, int, TextureMode)} metodunun {@link TextureMode#FULL} için olanı.
+     */
+    public static void prewarm(Context context, int width, int height, int waveColor) {
+        prewarm(context, width, height, waveColor, TextureMode.FULL);
+    }
+
+    /**
+     * Yakında gösterilecek bir View'ın dalga dokusunu, ana thread ilk boşta kaldığında önceden oluşturur
+     * (ör. açılış ekranı gösterilirken). Aynı boyut, renk ve doku modundaki bir View ilk ölçüldüğünde dokuyu
+     * hazır bulur ve ilk kare beklemeden çizilir.
+     * <p>
+     * Hazırlanan doku önbellek bütçesinden bağımsız olarak ilk kullanan View'a kadar tutulur; kullanılmayacaksa
+     * {@link WaveTexturePool#evictAll()} ile bırakılabilir. Herhangi bir thread'den çağrılabilir.
+     *
+     * @param width       View'ın piksel cinsinden genişliği
+     * @param height      View'ın piksel cinsinden yüksekliği
+     * @param waveColor   View'ın dalga rengi
+     * @param textureMode View'ın doku modu
+     */
+    public static void prewarm(Context context, final int width, final int height, int waveColor,
+                               final TextureMode textureMode) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        // ALPHA_8 dokusu renk taşımaz; updateWaveShader() ile aynı anahtar kullanılmalı.
+        final int textureColor = textureMode == TextureMode.COMPACT_ALPHA_8 ? Color.BLACK : waveColor;
+        Runnable prewarm = new Runnable() {
+            @Override
+            public void run() {
+                WaveTexturePool.getInstance().prewarm(width, height, textureColor, WaveDrawable.DEFAULT_WAVE_LENGTH_RATIO,
+                        textureMode);
             }
+        };
+        Looper mainLooper = context.getMainLooper();
+        if (Looper.myLooper() == mainLooper) {
+            prewarm.run();
+        } else {
+            new Handler(mainLooper).post(prewarm);
         }
     }
 
@@ -736,104 +726,278 @@ public class WaveLoadingView extends View {
      * @param duration Milisaniye cinsinden animasyonun uzunluğu.
      */
     public void setAnimDuration(long duration) {
-        waveShiftAnim.setDuration(duration);
-    }
-
-    private void initAnimation() {
-        // Wave waves infinitely.
-        waveShiftAnim = ObjectAnimator.ofFloat(this, "waveShiftRatio", 0f, 1f);
-        waveShiftAnim.setRepeatCount(ValueAnimator.INFINITE);
-        waveShiftAnim.setDuration(1000);
-        waveShiftAnim.setInterpolator(new LinearInterpolator());
-        mAnimatorSet = new AnimatorSet();
-        mAnimatorSet.play(waveShiftAnim);
+        mWaveDrawable.setAnimDuration(duration);
     }
 
     @Override
     protected void onAttachedToWindow() {
-        startAnimation();
+        // Listede geri dönen View tuttuğu dokuyu havuzda yeniden kaydeder; daha önce ölçüldüyse ayrılırken
+        // bırakılan doku da havuzdan geri alınır.
+        mWaveDrawable.retainTexture();
+        if (mPauseWhenOffscreen) {
+            addOffscreenListeners();
+        }
+        // Dalga kaldığı yerden devam eder; tekrar bağlanan View'larda dalga sıçramaz.
+        mWaveDrawable.startFromCurrentPhase();
+        updateAnimationVisibility();
         super.onAttachedToWindow();
     }
 
     @Override
     protected void onDetachedFromWindow() {
-        cancelAnimation();
+        mWaveDrawable.stop();
+        mWaveDrawable.setVisible(false, false);
+        removeOffscreenListeners();
+        if (mRecycling) {
+            // Liste View'ı tekrar kullanacak; dokuyu tutup havuzdaki referansı bırakıyoruz ki havuz
+            // gerekirse onu atabilsin.
+            mWaveDrawable.detachTexture();
+        } else {
+            mWaveDrawable.release();
+        }
         super.onDetachedFromWindow();
     }
 
     /**
-     * Faktör tarafından verilen renk transparan
-     * Faktör sıfıra ne kadar yaklaşırsa saydamlık o kadar artar.
+     * RecyclerView gibi listelerde View'ı yeni bir öğeye bağlar.
+     * <p>
+     * animate false ise su seviyesi animasyonsuz olarak doğrudan hedefe atlar. Bu metod bir kez çağrıldıktan
+     * sonra View listeden ayrılırken dalga dokusunu ve sabit katmanları bırakmaz; boyut ve renk değişmediyse
+     * tekrar eklendiğinde hiçbir doku işi yapılmaz. Dalga da kaldığı yerden devam eder.
      *
-     * @param color  Transparan rengi
-     * @param factor 1.0f to 0.0f
-     * @return int - A transplanted color
+     * @param progress Yeni öğenin ilerleme değeri
+     * @param animate  Su seviyesi önceki değerden animasyonla mı gelsin
      */
-    private int adjustAlpha(int color, float factor) {
-        int alpha = Math.round(Color.alpha(color) * factor);
-        int red = Color.red(color);
-        int green = Color.green(color);
-        int blue = Color.blue(color);
-        return Color.argb(alpha, red, green, blue);
+    public void bind(int progress, boolean animate) {
+        mRecycling = true;
+        mWaveDrawable.setProgressValue(progress, animate);
     }
 
     /**
-     * Paint.setTextSize(float textSize) default unit is px.
-     *
-     * @param spValue Metnin gerçek boyutu
-     * @return int - A transplanted sp
+     * Adapter'ın onViewRecycled() metodundan çağrılmalıdır. Süren su seviyesi animasyonunu hedefinde bitirir
+     * ve bekleyen arka plan doku isteğini iptal eder; doku ve katmanlar bir sonraki bağlama için tutulur.
      */
-    private int sp2px(float spValue) {
-        final float fontScale = mContext.getResources().getDisplayMetrics().scaledDensity;
-        return (int) (spValue * fontScale + 0.5f);
+    public void onRecycled() {
+        mRecycling = true;
+        mWaveDrawable.jumpToCurrentState();
+        mWaveDrawable.cancelTextureRequest();
     }
 
-    private int dp2px(float dp) {
-        final float scale = mContext.getResources().getDisplayMetrics().density;
-        return (int) (dp * scale + 0.5f);
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        updateAnimationVisibility();
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        updateAnimationVisibility();
+    }
+
+    @Override
+    public void onWindowFocusChanged(boolean hasWindowFocus) {
+        super.onWindowFocusChanged(hasWindowFocus);
+        updateAnimationVisibility();
     }
 
     /**
-     * Eşkenar Üçgen Çiz
-     *
-     * @param p1        Başlangıç noktası
-     * @param width     Üçgen genişliği
-     * @param height    Üçgenin yüksekliği
-     * @param direction Üçgenin yönü
-     * @return Path
+     * View kullanıcıya görünmüyorsa Drawable'ı görünmez yapar; Drawable çalışan animasyonu duraklatır ve
+     * tekrar görünür olduğunda devam ettirir.
+     */
+    private void updateAnimationVisibility() {
+        // View'ın yapıcısı, android:visibility okunurken onVisibilityChanged() metodunu init()'ten önce çağırabilir.
+        if (mWaveDrawable == null) {
+            return;
+        }
+        mWaveDrawable.setVisible(isVisibleToUser(), false);
+    }
+
+    private boolean isVisibleToUser() {
+        if (!isShown() || getWindowVisibility() != VISIBLE) {
+            return false;
+        }
+        return !mPauseWhenOffscreen || getGlobalVisibleRect(mVisibleRect);
+    }
+
+    private void addOffscreenListeners() {
+        ViewTreeObserver observer = getViewTreeObserver();
+        observer.addOnScrollChangedListener(mScrollChangedListener);
+        observer.addOnGlobalLayoutListener(mGlobalLayoutListener);
+    }
+
+    @SuppressWarnings("deprecation")
+    private void removeOffscreenListeners() {
+        ViewTreeObserver observer = getViewTreeObserver();
+        observer.removeOnScrollChangedListener(mScrollChangedListener);
+        observer.removeGlobalOnLayoutListener(mGlobalLayoutListener);
+    }
+
+    /**
+     * Birden fazla özelliği tek seferde değiştirmek için bir düzenleme başlatır:
+     * <pre>
+     * view.edit()
+     *         .setWaveColor(Color.BLUE)
+     *         .setBorderColor(Color.WHITE)
+     *         .setCenterTitle("Yükleniyor")
+     *         .apply();
+     * </pre>
+     * {@link Editor#apply()} çağrılana kadar değişikliklerin gerektirdiği işler biriktirilir; sonra dalga dokusu
+     * en fazla bir kez yeniden oluşturulur, şekil ve başlık düzenleri birer kez hesaplanır ve View bir kez
+     * geçersiz kılınır. Düzenlemeler iç içe olabilir; iş en dıştaki apply() ile yapılır.
+     */
+    public Editor edit() {
+        mWaveDrawable.beginEdit();
+        return mEditor;
+    }
+
+    /**
+     * {@link #edit()} ile başlatılan düzenleme. Ayarlayıcılar View'ınkilerle aynıdır.
      */
-    private Path getEquilateralTriangle(Point p1, int width, int height, int direction) {
-        Point p2 = null, p3 = null;
-        // KUZEY
-        if (direction == 0) {
-            p2 = new Point(p1.x + width, p1.y);
-            p3 = new Point(p1.x + (width / 2), (int) (height - Math.sqrt(3.0) / 2 * height));
-        }
-        // GÜNEY
-        else if (direction == 1) {
-            p2 = new Point(p1.x, p1.y - height);
-            p3 = new Point(p1.x + width, p1.y - height);
-            p1.x = p1.x + (width / 2);
-            p1.y = (int) (Math.sqrt(3.0) / 2 * height);
-        }
-        // DOĞU
-        else if (direction == 2) {
-            p2 = new Point(p1.x, p1.y - height);
-            p3 = new Point((int) (Math.sqrt(3.0) / 2 * width), p1.y / 2);
-        }
-        // BATI
-        else if (direction == 3) {
-            p2 = new Point(p1.x + width, p1.y - height);
-            p3 = new Point(p1.x + width, p1.y);
-            p1.x = (int) (width - Math.sqrt(3.0) / 2 * width);
-            p1.y = p1.y / 2;
-        }
-
-        Path path = new Path();
-        path.moveTo(p1.x, p1.y);
-        path.lineTo(p2.x, p2.y);
-        path.lineTo(p3.x, p3.y);
-
-        return path;
+    public final class Editor {
+        private Editor() {
+        }
+
+        public Editor setWaveColor(int color) {
+            WaveLoadingView.this.setWaveColor(color);
+            return this;
+        }
+
+        public Editor setWaveBgColor(int color) {
+            WaveLoadingView.this.setWaveBgColor(color);
+            return this;
+        }
+
+        public Editor setBorderColor(int color) {
+            WaveLoadingView.this.setBorderColor(color);
+            return this;
+        }
+
+        public Editor setBorderWidth(float width) {
+            WaveLoadingView.this.setBorderWidth(width);
+            return this;
+        }
+
+        public Editor setShapeType(ShapeType shapeType) {
+            WaveLoadingView.this.setShapeType(shapeType);
+            return this;
+        }
+
+        public Editor setRenderMode(RenderMode renderMode) {
+            WaveLoadingView.this.setRenderMode(renderMode);
+            return this;
+        }
+
+        public Editor setTextureMode(TextureMode textureMode) {
+            WaveLoadingView.this.setTextureMode(textureMode);
+            return this;
+        }
+
+        public Editor setAmplitudeRatio(int amplitudeRatio) {
+            WaveLoadingView.this.setAmplitudeRatio(amplitudeRatio);
+            return this;
+        }
+
+        public Editor setProgressValue(int progress) {
+            WaveLoadingView.this.setProgressValue(progress);
+            return this;
+        }
+
+        public Editor setProgressLabel(String format) {
+            WaveLoadingView.this.setProgressLabel(format);
+            return this;
+        }
+
+        public Editor setTopTitle(String topTitle) {
+            WaveLoadingView.this.setTopTitle(topTitle);
+            return this;
+        }
+
+        public Editor setCenterTitle(String centerTitle) {
+            WaveLoadingView.this.setCenterTitle(centerTitle);
+            return this;
+        }
+
+        public Editor setBottomTitle(String bottomTitle) {
+            WaveLoadingView.this.setBottomTitle(bottomTitle);
+            return this;
+        }
+
+        public Editor setTopTitleColor(int color) {
+            WaveLoadingView.this.setTopTitleColor(color);
+            return this;
+        }
+
+        public Editor setCenterTitleColor(int color) {
+            WaveLoadingView.this.setCenterTitleColor(color);
+            return this;
+        }
+
+        public Editor setBottomTitleColor(int color) {
+            WaveLoadingView.this.setBottomTitleColor(color);
+            return this;
+        }
+
+        public Editor setTopTitleSize(float size) {
+            WaveLoadingView.this.setTopTitleSize(size);
+            return this;
+        }
+
+        public Editor setCenterTitleSize(float size) {
+            WaveLoadingView.this.setCenterTitleSize(size);
+            return this;
+        }
+
+        public Editor setBottomTitleSize(float size) {
+            WaveLoadingView.this.setBottomTitleSize(size);
+            return this;
+        }
+
+        public Editor setTopTitleStrokeColor(int color) {
+            WaveLoadingView.this.setTopTitleStrokeColor(color);
+            return this;
+        }
+
+        public Editor setCenterTitleStrokeColor(int color) {
+            WaveLoadingView.this.setCenterTitleStrokeColor(color);
+            return this;
+        }
+
+        public Editor setBottomTitleStrokeColor(int color) {
+            WaveLoadingView.this.setBottomTitleStrokeColor(color);
+            return this;
+        }
+
+        public Editor setTopTitleStrokeWidth(float width) {
+            WaveLoadingView.this.setTopTitleStrokeWidth(width);
+            return this;
+        }
+
+        public Editor setCenterTitleStrokeWidth(float width) {
+            WaveLoadingView.this.setCenterTitleStrokeWidth(width);
+            return this;
+        }
+
+        public Editor setBottomTitleStrokeWidth(float width) {
+            WaveLoadingView.this.setBottomTitleStrokeWidth(width);
+            return this;
+        }
+
+        public Editor setTitleMaxLines(int maxLines) {
+            WaveLoadingView.this.setTitleMaxLines(maxLines);
+            return this;
+        }
+
+        public Editor setTitleEllipsize(TextUtils.TruncateAt ellipsize) {
+            WaveLoadingView.this.setTitleEllipsize(ellipsize);
+            return this;
+        }
+
+        /**
+         * Biriktirilen değişiklikleri uygular. Her {@link #edit()} için bir kez çağrılmalıdır.
+         */
+        public void apply() {
+            mWaveDrawable.endEdit();
+        }
     }
 }
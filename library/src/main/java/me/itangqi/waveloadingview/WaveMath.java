@@ -0,0 +1,49 @@
+package me.itangqi.waveloadingview;
+
+/**
+ * Dalga dokusu için Android'e bağımlı olmayan hesaplamalar.
+ * <p>
+ * Sadece JDK sınıflarını kullanır; böylece benchmark modülünde düz JVM üzerinde de derlenebilir.
+ */
+final class WaveMath {
+
+    private WaveMath() {
+    }
+
+    /**
+     * Her piksel sütunu için dalganın tepe noktasını hesaplar.
+     *
+     * @param waveY      Sonuçların yazılacağı dizi, uzunluğu sütun sayısıdır
+     * @param waterLevel Dalganın ortalama yüksekliği
+     * @param amplitude  Dalganın genliği
+     * @param waveLength Piksel cinsinden dalga boyu
+     */
+    static void computeWaveY(float[] waveY, float waterLevel, float amplitude, float waveLength) {
+        float turnsPerPixel = 1f / waveLength;
+        for (int x = 0; x < waveY.length; x++) {
+            waveY[x] = waterLevel + amplitude * SineTable.sin(x * turnsPerPixel);
+        }
+    }
+
+    /**
+     * Dalganın tepe noktasının View içindeki en üst konumu.
+     *
+     * @param height          View yüksekliği
+     * @param waterLevelRatio Su seviyesi oranı
+     * @param amplitudeRatio  Genlik oranı
+     */
+    static int getWaveBandTop(int height, float waterLevelRatio, float amplitudeRatio) {
+        return (int) Math.floor(height * (1f - waterLevelRatio - amplitudeRatio));
+    }
+
+    /**
+     * Dalganın çukurunun View içindeki en alt konumu.
+     *
+     * @param height          View yüksekliği
+     * @param waterLevelRatio Su seviyesi oranı
+     * @param amplitudeRatio  Genlik oranı
+     */
+    static int getWaveBandBottom(int height, float waterLevelRatio, float amplitudeRatio) {
+        return (int) Math.ceil(height * (1f - waterLevelRatio + amplitudeRatio));
+    }
+}
@@ -0,0 +1,166 @@
+package me.itangqi.waveloadingview;
+
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Tek bir View'ın çizim maliyetine ait sayaçlar.
+ * <p>
+ * Sadece {@link WaveLoadingView#setMetricsEnabled(boolean)} ile açıldığında toplanır; kapalıyken View
+ * hiçbir ölçüm yapmaz. Tüm metodlar ana (UI) thread'den çağrılmalıdır.
+ */
+public final class WaveMetrics {
+    private static final long NANOS_PER_MILLI = 1000000L;
+    // Çizim süresi histogramının milisaniye cinsinden üst sınırları; son dilim sınırsızdır.
+    private static final int[] DRAW_BUCKET_LIMITS_MS = {1, 2, 4, 8, 16};
+
+    private final int[] mDrawHistogram = new int[DRAW_BUCKET_LIMITS_MS.length + 1];
+    private long mDrawCount;
+    private long mDrawTotalNanos;
+    private long mDrawMaxNanos;
+    private int mShaderRebuildCount;
+    private long mShaderRebuildNanos;
+    private int mBitmapBytes;
+    private int mLiveAnimatorCount;
+    private int mInvisibleFrameCount;
+
+    WaveMetrics() {
+    }
+
+    void recordDraw(long durationNanos) {
+        mDrawCount++;
+        mDrawTotalNanos += durationNanos;
+        if (durationNanos > mDrawMaxNanos) {
+            mDrawMaxNanos = durationNanos;
+        }
+        int bucket = 0;
+        while (bucket < DRAW_BUCKET_LIMITS_MS.length && durationNanos >= DRAW_BUCKET_LIMITS_MS[bucket] * NANOS_PER_MILLI) {
+            bucket++;
+        }
+        mDrawHistogram[bucket]++;
+    }
+
+    void recordShaderRebuild(long durationNanos) {
+        mShaderRebuildCount++;
+        mShaderRebuildNanos += durationNanos;
+    }
+
+    void recordInvisibleFrame() {
+        mInvisibleFrameCount++;
+    }
+
+    void setBitmapBytes(int bitmapBytes) {
+        mBitmapBytes = bitmapBytes;
+    }
+
+    void setLiveAnimatorCount(int liveAnimatorCount) {
+        mLiveAnimatorCount = liveAnimatorCount;
+    }
+
+    public long getDrawCount() {
+        return mDrawCount;
+    }
+
+    public long getAverageDrawNanos() {
+        return mDrawCount == 0 ? 0 : mDrawTotalNanos / mDrawCount;
+    }
+
+    public long getMaxDrawNanos() {
+        return mDrawMaxNanos;
+    }
+
+    /**
+     * @return Histogramdaki dilim sayısı
+     */
+    public int getDrawBucketCount() {
+        return mDrawHistogram.length;
+    }
+
+    /**
+     * @return Dilimin milisaniye cinsinden üst sınırı; son dilim için {@link Integer#MAX_VALUE}
+     */
+    public int getDrawBucketLimitMillis(int bucket) {
+        return bucket < DRAW_BUCKET_LIMITS_MS.length ? DRAW_BUCKET_LIMITS_MS[bucket] : Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return Süresi bir önceki dilimin sınırı ile bu dilimin sınırı arasında kalan onDraw() sayısı
+     */
+    public int getDrawBucket(int bucket) {
+        return mDrawHistogram[bucket];
+    }
+
+    /**
+     * @return Dalga dokusunun yeniden alınma veya oluşturulma sayısı
+     */
+    public int getShaderRebuildCount() {
+        return mShaderRebuildCount;
+    }
+
+    public long getShaderRebuildNanos() {
+        return mShaderRebuildNanos;
+    }
+
+    /**
+     * @return View'ın tuttuğu bitmap'lerin bayt cinsinden boyutu. Havuzdaki doku başka View'larla
+     * paylaşılıyor olabilir, bu yüzden View'ların değerleri toplanınca gerçek kullanımdan büyük çıkabilir.
+     */
+    public int getBitmapBytes() {
+        return mBitmapBytes;
+    }
+
+    /**
+     * @return Paylaşılan kare saatine kayıtlı, animasyonu çalışan View sayısı
+     */
+    public int getLiveAnimatorCount() {
+        return mLiveAnimatorCount;
+    }
+
+    /**
+     * @return View kullanıcıya görünmezken (ör. ekran dışındayken veya gizliyken) yapılan çizim sayısı
+     */
+    public int getInvisibleFrameCount() {
+        return mInvisibleFrameCount;
+    }
+
+    public void reset() {
+        for (int i = 0; i < mDrawHistogram.length; i++) {
+            mDrawHistogram[i] = 0;
+        }
+        mDrawCount = 0;
+        mDrawTotalNanos = 0;
+        mDrawMaxNanos = 0;
+        mShaderRebuildCount = 0;
+        mShaderRebuildNanos = 0;
+        mInvisibleFrameCount = 0;
+    }
+
+    /**
+     * Sayaçları dumpsys biçiminde yazar; ör. Activity.dump() içinden çağrılabilir.
+     */
+    public void dump(String prefix, PrintWriter writer) {
+        writer.print(prefix);
+        writer.println(String.format(Locale.US, "draws=%d avg=%.2fms max=%.2fms", mDrawCount,
+                (float) getAverageDrawNanos() / NANOS_PER_MILLI, (float) mDrawMaxNanos / NANOS_PER_MILLI));
+        writer.print(prefix);
+        writer.print("draw histogram:");
+        for (int i = 0; i < mDrawHistogram.length; i++) {
+            if (i < DRAW_BUCKET_LIMITS_MS.length) {
+                writer.print(" <" + DRAW_BUCKET_LIMITS_MS[i] + "ms=");
+            } else {
+                writer.print(" >=" + DRAW_BUCKET_LIMITS_MS[i - 1] + "ms=");
+            }
+            writer.print(mDrawHistogram[i]);
+        }
+        writer.println();
+        writer.print(prefix);
+        writer.println(String.format(Locale.US, "shader rebuilds=%d total=%.2fms", mShaderRebuildCount,
+                (float) mShaderRebuildNanos / NANOS_PER_MILLI));
+        writer.print(prefix);
+        writer.println("bitmap bytes=" + mBitmapBytes);
+        writer.print(prefix);
+        writer.println("live animators=" + mLiveAnimatorCount);
+        writer.print(prefix);
+        writer.println("invisible frames=" + mInvisibleFrameCount);
+    }
+}
@@ -0,0 +1,95 @@
+package me.itangqi.waveloadingview;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+
+/**
+ * Dalga katmanlarını bitmap yerine {@link Path} olarak çizer.
+ * <p>
+ * Yollar sadece boyut veya genlik değiştiğinde yeniden oluşturulur; her karede sadece tuval kaydırılır.
+ * Donanım hızlandırmalı tuvalde yollar display list içinde GPU tarafında önbelleğe alınır, böylece
+ * büyük View'lar için doku yükleme ve bellek maliyeti oluşmaz.
+ */
+final class WavePathRenderer {
+    // Sinüs eğrisini oluşturan doğru parçalarının piksel cinsinden uzunluğu.
+    private static final float SEGMENT_LENGTH = 4f;
+
+    private final Path mBackWavePath = new Path();
+    private final Path mFrontWavePath = new Path();
+    private final Paint mBackWavePaint = new Paint();
+    private final Paint mFrontWavePaint = new Paint();
+    private int mWidth;
+    private int mHeight;
+    private float mAmplitude = -1;
+    private int mWaveColor;
+    private boolean mHasColor;
+
+    WavePathRenderer() {
+        mBackWavePaint.setAntiAlias(true);
+        mBackWavePaint.setStyle(Paint.Style.FILL);
+        mFrontWavePaint.setAntiAlias(true);
+        mFrontWavePaint.setStyle(Paint.Style.FILL);
+    }
+
+    /**
+     * İki dalga katmanını çizer. Tuval şekle göre önceden kırpılmış olmalıdır.
+     *
+     * @param amplitudeRatio  Genliğin yüksekliğe oranı
+     * @param waveShiftRatio  Dalganın yatay kayması, 0 ile 1 arası
+     * @param waterLevelRatio Su seviyesi, 0 ile 1 arası
+     */
+    void draw(Canvas canvas, int width, int height, float amplitudeRatio, int waveColor,
+              float waveShiftRatio, float waterLevelRatio) {
+        float amplitude = height * amplitudeRatio;
+        if (width != mWidth || height != mHeight || amplitude != mAmplitude) {
+            mWidth = width;
+            mHeight = height;
+            mAmplitude = amplitude;
+            buildPaths();
+        }
+        if (!mHasColor || waveColor != mWaveColor) {
+            mHasColor = true;
+            mWaveColor = waveColor;
+            mBackWavePaint.setColor(WaveTextureFactory.adjustAlpha(waveColor, 0.3f));
+            mFrontWavePaint.setColor(waveColor);
+        }
+
+        float waveLength = width * WaveDrawable.DEFAULT_WAVE_LENGTH_RATIO;
+        int saveCount = canvas.save();
+        // Yollar iki dalga boyu genişliğinde; bir dalga boyu sola kaydırınca kayma ne olursa olsun View'ı kaplar.
+        canvas.translate(waveShiftRatio * width - waveLength, (1f - waterLevelRatio) * height);
+        canvas.drawPath(mBackWavePath, mBackWavePaint);
+        canvas.drawPath(mFrontWavePath, mFrontWavePaint);
+        canvas.restoreToCount(saveCount);
+    }
+
+    private void buildPaths() {
+        float waveLength = mWidth * WaveDrawable.DEFAULT_WAVE_LENGTH_RATIO;
+        float turnsPerPixel = 1f / waveLength;
+        float endX = waveLength * 2;
+        // Su seviyesi en fazla 0'a indiğinde bile alt kenarı kaplasın.
+        float bottom = mHeight + mAmplitude + 1;
+
+        mBackWavePath.reset();
+        mFrontWavePath.reset();
+        mBackWavePath.moveTo(0, bottom);
+        mFrontWavePath.moveTo(0, bottom);
+        // y=Asin(ωx+φ), ön dalga çeyrek dalga boyu kaydırılmıştır.
+        for (float x = 0; ; x += SEGMENT_LENGTH) {
+            if (x > endX) {
+                x = endX;
+            }
+            float turns = x * turnsPerPixel;
+            mBackWavePath.lineTo(x, mAmplitude * SineTable.sin(turns));
+            mFrontWavePath.lineTo(x, mAmplitude * SineTable.cos(turns));
+            if (x == endX) {
+                break;
+            }
+        }
+        mBackWavePath.lineTo(endX, bottom);
+        mFrontWavePath.lineTo(endX, bottom);
+        mBackWavePath.close();
+        mFrontWavePath.close();
+    }
+}
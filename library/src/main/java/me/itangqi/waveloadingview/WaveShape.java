@@ -0,0 +1,173 @@
+package me.itangqi.waveloadingview;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+
+/**
+ * Dalganın içine çizildiği şeklin geometrisi.
+ * <p>
+ * {@link WaveDrawable} ve {@link WaveGridView}'ın hücreleri aynı şekilleri aynı şekilde çizer. Geometri boyut,
+ * şekil türü veya kenarlık değiştiğinde {@link #update(int, int, float)} ile bir kez hesaplanır; çizim sırasında
+ * nesne ayrılmaz.
+ */
+final class WaveShape {
+    int mShapeType;
+    int mTriangleDirection;
+    boolean mIsRoundRectangle;
+    int mRoundRectangleXY;
+
+    private int mWidth;
+    private int mHeight;
+    private final Path mTrianglePath = new Path();
+    private final Path mTriangleWavePath = new Path();
+    // PATH modunda dalganın kırpıldığı şekil.
+    private final Path mClipPath = new Path();
+    private final RectF mShapeRect = new RectF();
+    private final RectF mBorderRect = new RectF();
+    private final RectF mWaveRect = new RectF();
+    private float mShapeRadius;
+    private float mBorderRadius;
+
+    WaveShape(WaveStyle style) {
+        mShapeType = style.mShapeType;
+        mTriangleDirection = style.mTriangleDirection;
+        mIsRoundRectangle = style.mIsRoundRectangle;
+        mRoundRectangleXY = style.mRoundRectangleXY;
+    }
+
+    /**
+     * Şekil geometrisini verilen boyut ve kenarlık kalınlığına göre hesaplar.
+     */
+    void update(int width, int height, float borderWidth) {
+        mWidth = width;
+        mHeight = height;
+        switch (mShapeType) {
+            case 0:
+                WaveDrawable.buildEquilateralTriangle(mTrianglePath, width, height, mTriangleDirection);
+                mClipPath.set(mTrianglePath);
+                break;
+            case 1:
+                mBorderRadius = (width - borderWidth) / 2f - 1f;
+                mShapeRadius = width / 2f - borderWidth;
+                mClipPath.reset();
+                mClipPath.addCircle(width / 2f, height / 2f, mShapeRadius, Path.Direction.CW);
+                break;
+            case 2:
+                mBorderRect.set(borderWidth / 2f, borderWidth / 2f,
+                        width - borderWidth / 2f - 0.5f, height - borderWidth / 2f - 0.5f);
+                mShapeRect.set(borderWidth, borderWidth, width - borderWidth, height - borderWidth);
+                break;
+            case 3:
+                if (borderWidth > 0) {
+                    mShapeRect.set(borderWidth / 2f, borderWidth / 2f,
+                            width - borderWidth / 2f - 0.5f, height - borderWidth / 2f - 0.5f);
+                } else {
+                    mShapeRect.set(0, 0, width, height);
+                }
+                mClipPath.reset();
+                mClipPath.addRoundRect(mShapeRect, mRoundRectangleXY, mRoundRectangleXY, Path.Direction.CW);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Kenarlığı ve şeklin arka planını çizer.
+     */
+    void drawBackground(Canvas canvas, Paint backgroundPaint, Paint borderPaint) {
+        // BorderWidth'i al.
+        float borderWidth = borderPaint.getStrokeWidth();
+
+        switch (mShapeType) {
+            // Draw triangle
+            case 0:
+                // Şu anda sınır ayarlarını desteklemiyor
+                canvas.drawPath(mTrianglePath, backgroundPaint);
+                break;
+            // Daire çiz
+            case 1:
+                if (borderWidth > 0) {
+                    canvas.drawCircle(mWidth / 2f, mHeight / 2f, mBorderRadius, borderPaint);
+                }
+                // Arkaplanı çiz
+                canvas.drawCircle(mWidth / 2f, mHeight / 2f, mShapeRadius, backgroundPaint);
+                break;
+            // Kare çiz
+            case 2:
+                if (borderWidth > 0) {
+                    canvas.drawRect(mBorderRect, borderPaint);
+                }
+                canvas.drawRect(mShapeRect, backgroundPaint);
+                break;
+            // Dikdörtgen çiz
+            case 3:
+                if (mIsRoundRectangle) {
+                    if (borderWidth > 0) {
+                        canvas.drawRoundRect(mShapeRect, mRoundRectangleXY, mRoundRectangleXY, borderPaint);
+                    }
+                    canvas.drawRoundRect(mShapeRect, mRoundRectangleXY, mRoundRectangleXY, backgroundPaint);
+                } else {
+                    canvas.drawRect(mShapeRect, backgroundPaint);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Dalgayı şeklin içine çizer.
+     * <p>
+     * Gölgelendirme matrisini her karede değiştirmek yerine (yeni sürümlerde her seferinde native
+     * gölgelendirici ve nesne ayırır) tuvali kaydırıp şekli ters yönde çiziyoruz; şekil yerinde kalır,
+     * dalga kayar.
+     *
+     * @param dx Dalganın yatay kayması
+     * @param dy Dalganın dikey kayması
+     */
+    void drawWave(Canvas canvas, Paint paint, float dx, float dy) {
+        int saveCount = canvas.save();
+        canvas.translate(dx, dy);
+        switch (mShapeType) {
+            case 0:
+                mTriangleWavePath.set(mTrianglePath);
+                mTriangleWavePath.offset(-dx, -dy);
+                canvas.drawPath(mTriangleWavePath, paint);
+                break;
+            case 1:
+                canvas.drawCircle(mWidth / 2f - dx, mHeight / 2f - dy, mShapeRadius, paint);
+                break;
+            case 2:
+                canvas.drawRect(mShapeRect.left - dx, mShapeRect.top - dy,
+                        mShapeRect.right - dx, mShapeRect.bottom - dy, paint);
+                break;
+            case 3:
+                if (mIsRoundRectangle) {
+                    mWaveRect.set(mShapeRect.left - dx, mShapeRect.top - dy,
+                            mShapeRect.right - dx, mShapeRect.bottom - dy);
+                    canvas.drawRoundRect(mWaveRect, mRoundRectangleXY, mRoundRectangleXY, paint);
+                } else {
+                    canvas.drawRect(mShapeRect.left - dx, mShapeRect.top - dy,
+                            mShapeRect.right - dx, mShapeRect.bottom - dy, paint);
+                }
+                break;
+            default:
+                break;
+        }
+        canvas.restoreToCount(saveCount);
+    }
+
+    /**
+     * Tuvali şeklin içine kırpar.
+     */
+    void clip(Canvas canvas) {
+        if (mShapeType == 2 || (mShapeType == 3 && !mIsRoundRectangle)) {
+            canvas.clipRect(mShapeRect.left, mShapeRect.top, mShapeRect.right, mShapeRect.bottom);
+        } else {
+            canvas.clipPath(mClipPath);
+        }
+    }
+}
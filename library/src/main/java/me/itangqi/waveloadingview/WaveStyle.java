@@ -0,0 +1,213 @@
+package me.itangqi.waveloadingview;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.Color;
+import android.text.TextUtils;
+import android.util.AttributeSet;
+import android.util.DisplayMetrics;
+
+import me.itangqi.library.R;
+
+import java.util.HashMap;
+import java.util.WeakHashMap;
+
+/**
+ * WaveLoadingView'ın XML özelliklerinden okunan, değiştirilemez başlangıç değerleri.
+ * <p>
+ * Aynı tema, stil kaynağı, varsayılan stil özelliği ve etiketteki wlv_ değerleriyle oluşturulan View'lar
+ * (ör. bir listede tekrar tekrar şişirilen aynı satır) için değerler bir kez okunur ve paylaşılır.
+ * Önbellek senkronizedir; fakat stili kullanan View'lar ve WaveDrawable ana thread'de oluşturulmalıdır.
+ */
+final class WaveStyle {
+    private static final float DEFAULT_AMPLITUDE_VALUE = 50.0f;
+    private static final int DEFAULT_WAVE_COLOR = Color.parseColor("#212121");
+    private static final int DEFAULT_WAVE_BACKGROUND_COLOR = Color.parseColor("#00000000");
+    private static final int DEFAULT_TITLE_COLOR = Color.parseColor("#212121");
+    private static final int DEFAULT_STROKE_COLOR = Color.TRANSPARENT;
+    private static final float DEFAULT_BORDER_WIDTH = 0;
+    private static final float DEFAULT_TITLE_STROKE_WIDTH = 0;
+    // This is incorrect/not recommended by Joshua Bloch in his book Effective Java (2nd ed).
+    private static final int DEFAULT_WAVE_SHAPE = WaveLoadingView.ShapeType.CIRCLE.ordinal();
+    private static final int DEFAULT_TRIANGLE_DIRECTION = WaveLoadingView.TriangleDirection.NORTH.ordinal();
+    private static final int DEFAULT_ROUND_RECTANGLE_X_AND_Y = 30;
+    private static final float DEFAULT_TITLE_TOP_SIZE = 18.0f;
+    private static final float DEFAULT_TITLE_CENTER_SIZE = 22.0f;
+    private static final float DEFAULT_TITLE_BOTTOM_SIZE = 18.0f;
+
+    // Tema başına, stil kaynağı, varsayılan stil özelliği ve etiketteki wlv_ değerlerine göre okunmuş stiller.
+    private static final WeakHashMap<Resources.Theme, HashMap<String, WaveStyle>> sCache = new WeakHashMap<>();
+
+    final int mShapeType;
+    final int mWaveColor;
+    final int mWaveBgColor;
+    final float mAmplitudeRatio;
+    final int mProgressValue;
+    final WaveLoadingView.RenderMode mRenderMode;
+    final WaveLoadingView.TextureMode mTextureMode;
+    final boolean mPartialInvalidate;
+    final int mFrameRate;
+    final boolean mAdaptiveFrameRate;
+    final boolean mStaticLayerCache;
+    final boolean mAsyncTexture;
+    final boolean mIsRoundRectangle;
+    final int mRoundRectangleXY;
+    final int mTriangleDirection;
+    final float mBorderWidth;
+    final int mBorderColor;
+
+    final String mTopTitle;
+    final int mTopTitleColor;
+    final float mTopTitleSize;
+    final int mTopTitleStrokeColor;
+    final float mTopTitleStrokeWidth;
+    final String mCenterTitle;
+    final int mCenterTitleColor;
+    final float mCenterTitleSize;
+    final int mCenterTitleStrokeColor;
+    final float mCenterTitleStrokeWidth;
+    final String mBottomTitle;
+    final int mBottomTitleColor;
+    final float mBottomTitleSize;
+    final int mBottomTitleStrokeColor;
+    final float mBottomTitleStrokeWidth;
+    final String mProgressLabel;
+    final int mTitleMaxLines;
+    final TextUtils.TruncateAt mTitleEllipsize;
+
+    private WaveStyle(TypedArray attributes, DisplayMetrics metrics) {
+        mShapeType = attributes.getInteger(R.styleable.WaveLoadingView_wlv_shapeType, DEFAULT_WAVE_SHAPE);
+        mWaveColor = attributes.getColor(R.styleable.WaveLoadingView_wlv_waveColor, DEFAULT_WAVE_COLOR);
+        mWaveBgColor = attributes.getColor(R.styleable.WaveLoadingView_wlv_wave_background_Color, DEFAULT_WAVE_BACKGROUND_COLOR);
+        float amplitudeRatio = attributes.getFloat(R.styleable.WaveLoadingView_wlv_waveAmplitude, DEFAULT_AMPLITUDE_VALUE) / 1000;
+        mAmplitudeRatio = Math.min(amplitudeRatio, WaveDrawable.DEFAULT_AMPLITUDE_RATIO);
+        mProgressValue = attributes.getInteger(R.styleable.WaveLoadingView_wlv_progressValue, WaveDrawable.DEFAULT_WAVE_PROGRESS_VALUE);
+        mRenderMode = WaveLoadingView.RenderMode.values()[attributes.getInt(R.styleable.WaveLoadingView_wlv_renderMode,
+                WaveLoadingView.RenderMode.BITMAP.ordinal())];
+        mTextureMode = WaveLoadingView.TextureMode.values()[attributes.getInt(R.styleable.WaveLoadingView_wlv_textureMode,
+                WaveLoadingView.TextureMode.FULL.ordinal())];
+        mPartialInvalidate = attributes.getBoolean(R.styleable.WaveLoadingView_wlv_partialInvalidate, false);
+        mFrameRate = attributes.getInteger(R.styleable.WaveLoadingView_wlv_frameRate, FrameRateController.DISPLAY_FRAME_RATE);
+        mAdaptiveFrameRate = attributes.getBoolean(R.styleable.WaveLoadingView_wlv_adaptiveFrameRate, false);
+        mStaticLayerCache = attributes.getBoolean(R.styleable.WaveLoadingView_wlv_staticLayerCache, false);
+        mAsyncTexture = attributes.getBoolean(R.styleable.WaveLoadingView_wlv_asyncTexture, false);
+        mIsRoundRectangle = attributes.getBoolean(R.styleable.WaveLoadingView_wlv_round_rectangle, false);
+        mRoundRectangleXY = attributes.getInteger(R.styleable.WaveLoadingView_wlv_round_rectangle_x_and_y,
+                DEFAULT_ROUND_RECTANGLE_X_AND_Y);
+        mTriangleDirection = attributes.getInteger(R.styleable.WaveLoadingView_wlv_triangle_direction,
+                DEFAULT_TRIANGLE_DIRECTION);
+        mBorderWidth = attributes.getDimension(R.styleable.WaveLoadingView_wlv_borderWidth, dp2px(metrics, DEFAULT_BORDER_WIDTH));
+        mBorderColor = attributes.getColor(R.styleable.WaveLoadingView_wlv_borderColor, DEFAULT_WAVE_COLOR);
+
+        mTopTitle = attributes.getString(R.styleable.WaveLoadingView_wlv_titleTop);
+        mTopTitleColor = attributes.getColor(R.styleable.WaveLoadingView_wlv_titleTopColor, DEFAULT_TITLE_COLOR);
+        mTopTitleSize = attributes.getDimension(R.styleable.WaveLoadingView_wlv_titleTopSize, sp2px(metrics, DEFAULT_TITLE_TOP_SIZE));
+        mTopTitleStrokeColor = attributes.getColor(R.styleable.WaveLoadingView_wlv_titleTopStrokeColor, DEFAULT_STROKE_COLOR);
+        mTopTitleStrokeWidth = attributes.getDimension(R.styleable.WaveLoadingView_wlv_titleTopStrokeWidth,
+                dp2px(metrics, DEFAULT_TITLE_STROKE_WIDTH));
+
+        mCenterTitle = attributes.getString(R.styleable.WaveLoadingView_wlv_titleCenter);
+        mCenterTitleColor = attributes.getColor(R.styleable.WaveLoadingView_wlv_titleCenterColor, DEFAULT_TITLE_COLOR);
+        mCenterTitleSize = attributes.getDimension(R.styleable.WaveLoadingView_wlv_titleCenterSize,
+                sp2px(metrics, DEFAULT_TITLE_CENTER_SIZE));
+        mCenterTitleStrokeColor = attributes.getColor(R.styleable.WaveLoadingView_wlv_titleCenterStrokeColor, DEFAULT_STROKE_COLOR);
+        mCenterTitleStrokeWidth = attributes.getDimension(R.styleable.WaveLoadingView_wlv_titleCenterStrokeWidth,
+                dp2px(metrics, DEFAULT_TITLE_STROKE_WIDTH));
+
+        mBottomTitle = attributes.getString(R.styleable.WaveLoadingView_wlv_titleBottom);
+        mBottomTitleColor = attributes.getColor(R.styleable.WaveLoadingView_wlv_titleBottomColor, DEFAULT_TITLE_COLOR);
+        mBottomTitleSize = attributes.getDimension(R.styleable.WaveLoadingView_wlv_titleBottomSize,
+                sp2px(metrics, DEFAULT_TITLE_BOTTOM_SIZE));
+        mBottomTitleStrokeColor = attributes.getColor(R.styleable.WaveLoadingView_wlv_titleBottomStrokeColor, DEFAULT_STROKE_COLOR);
+        mBottomTitleStrokeWidth = attributes.getDimension(R.styleable.WaveLoadingView_wlv_titleBottomStrokeWidth,
+                dp2px(metrics, DEFAULT_TITLE_STROKE_WIDTH));
+
+        mProgressLabel = attributes.getString(R.styleable.WaveLoadingView_wlv_progressLabel);
+        mTitleMaxLines = Math.max(1, attributes.getInt(R.styleable.WaveLoadingView_wlv_titleMaxLines, WaveDrawable.DEFAULT_TITLE_MAX_LINES));
+        int ellipsize = attributes.getInt(R.styleable.WaveLoadingView_wlv_titleEllipsize, TextUtils.TruncateAt.END.ordinal() + 1);
+        mTitleEllipsize = ellipsize == 0 ? null : TextUtils.TruncateAt.values()[ellipsize - 1];
+    }
+
+    /**
+     * View'ın stilini döner; paylaşılabiliyorsa önbellekten alır.
+     */
+    static WaveStyle obtain(Context context, AttributeSet attrs, int defStyleAttr) {
+        String key = getCacheKey(attrs, defStyleAttr);
+        if (key == null) {
+            return read(context, attrs, defStyleAttr);
+        }
+        Resources.Theme theme = context.getTheme();
+        synchronized (sCache) {
+            HashMap<String, WaveStyle> styles = sCache.get(theme);
+            WaveStyle style = styles != null ? styles.get(key) : null;
+            if (style != null) {
+                return style;
+            }
+        }
+        WaveStyle style = read(context, attrs, defStyleAttr);
+        synchronized (sCache) {
+            HashMap<String, WaveStyle> styles = sCache.get(theme);
+            if (styles == null) {
+                styles = new HashMap<>();
+                sCache.put(theme, styles);
+            }
+            styles.put(key, style);
+        }
+        return style;
+    }
+
+    private static WaveStyle read(Context context, AttributeSet attrs, int defStyleAttr) {
+        TypedArray attributes = context.obtainStyledAttributes(attrs, R.styleable.WaveLoadingView, defStyleAttr, 0);
+        try {
+            return new WaveStyle(attributes, context.getResources().getDisplayMetrics());
+        } finally {
+            attributes.recycle();
+        }
+    }
+
+    /**
+     * Etiketteki wlv_ özelliklerinin ham değerleri ("@0x7f..", "?0x7f..", "#ff0000", "50" gibi) aynı
+     * temada her zaman aynı değerlere çözümlenir; bu yüzden anahtara çözümlenmiş değerler yerine onlar konur.
+     *
+     * @return Önbellek anahtarı; etikette tanınamayan bir özellik varsa null
+     */
+    private static String getCacheKey(AttributeSet attrs, int defStyleAttr) {
+        StringBuilder key = new StringBuilder();
+        key.append(defStyleAttr);
+        if (attrs == null) {
+            return key.toString();
+        }
+        key.append('/').append(attrs.getStyleAttribute());
+        for (int i = 0; i < attrs.getAttributeCount(); i++) {
+            int nameResource = attrs.getAttributeNameResource(i);
+            if (nameResource == 0) {
+                // "style" bir kaynak özelliği değildir; diğer tanınmayanlar için stil paylaşılmaz.
+                if (!"style".equals(attrs.getAttributeName(i))) {
+                    return null;
+                }
+                continue;
+            }
+            for (int attr : R.styleable.WaveLoadingView) {
+                if (attr == nameResource) {
+                    key.append(';').append(nameResource).append('=').append(attrs.getAttributeValue(i));
+                    break;
+                }
+            }
+        }
+        return key.toString();
+    }
+
+    boolean hasTitles() {
+        return !TextUtils.isEmpty(mTopTitle) || !TextUtils.isEmpty(mCenterTitle) || !TextUtils.isEmpty(mBottomTitle)
+                || !TextUtils.isEmpty(mProgressLabel);
+    }
+
+    private static float sp2px(DisplayMetrics metrics, float spValue) {
+        return (int) (spValue * metrics.scaledDensity + 0.5f);
+    }
+
+    private static float dp2px(DisplayMetrics metrics, float dp) {
+        return (int) (dp * metrics.density + 0.5f);
+    }
+}
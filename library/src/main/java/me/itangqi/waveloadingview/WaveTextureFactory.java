@@ -0,0 +1,133 @@
+package me.itangqi.waveloadingview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+/**
+ * Dalga dokusunu (tekrarlanan iki sinüs katmanı) bitmap'e çizer.
+ */
+final class WaveTextureFactory {
+    // Kompakt dokularda genlik bandının üstünde ve altında bırakılan satır sayısı.
+    // İlk satır tamamen boş, son satır tamamen dolu kalmalı ki CLAMP doğru sonuç versin.
+    private static final int BAND_MARGIN = 2;
+
+    private WaveTextureFactory() {
+    }
+
+    /**
+     * Verilen View boyutu ve doku modu için dokunun genişliği.
+     * Kompakt modlarda doku sadece bir dalga boyu genişliğindedir ve yatayda tekrarlanır.
+     */
+    static int getTextureWidth(int viewWidth, float waveLengthRatio, WaveLoadingView.TextureMode mode) {
+        if (mode == WaveLoadingView.TextureMode.FULL) {
+            return viewWidth;
+        }
+        return Math.max(1, Math.round(viewWidth * waveLengthRatio));
+    }
+
+    /**
+     * Dokuya çizilecek dalganın piksel cinsinden boyu. Kompakt dokularda dalga boyu doku genişliğine eşitlenir
+     * ki yatayda tekrarlanırken yuvarlamadan kaynaklı bir ek yeri oluşmasın.
+     */
+    static float getWaveLength(int viewWidth, float waveLengthRatio, WaveLoadingView.TextureMode mode) {
+        if (mode == WaveLoadingView.TextureMode.FULL) {
+            return viewWidth * waveLengthRatio;
+        }
+        return getTextureWidth(viewWidth, waveLengthRatio, mode);
+    }
+
+    /**
+     * Dokunun ilk satırının View'ın tam boy dokusundaki karşılığı.
+     * Kompakt modlarda doku sadece dalganın genlik bandını kapsar; üstündeki boş ve altındaki dolu alan
+     * CLAMP ile dokunun ilk ve son satırından elde edilir.
+     */
+    static int getTextureTop(int viewHeight, WaveLoadingView.TextureMode mode) {
+        if (mode == WaveLoadingView.TextureMode.FULL) {
+            return 0;
+        }
+        float crest = viewHeight * (WaveDrawable.DEFAULT_WATER_LEVEL_RATIO - WaveDrawable.DEFAULT_AMPLITUDE_RATIO);
+        return Math.max(0, (int) Math.floor(crest) - BAND_MARGIN);
+    }
+
+    static int getTextureHeight(int viewHeight, WaveLoadingView.TextureMode mode) {
+        if (mode == WaveLoadingView.TextureMode.FULL) {
+            return viewHeight;
+        }
+        float trough = viewHeight * (WaveDrawable.DEFAULT_WATER_LEVEL_RATIO + WaveDrawable.DEFAULT_AMPLITUDE_RATIO);
+        int bottom = Math.min(viewHeight, (int) Math.ceil(trough) + BAND_MARGIN);
+        return Math.max(1, bottom - getTextureTop(viewHeight, mode));
+    }
+
+    static Bitmap.Config getTextureConfig(WaveLoadingView.TextureMode mode) {
+        // ALPHA_8 dokusu sadece saydamlığı tutar; renk çizim sırasında boyadan gelir.
+        return mode == WaveLoadingView.TextureMode.COMPACT_ALPHA_8 ? Bitmap.Config.ALPHA_8 : Bitmap.Config.ARGB_8888;
+    }
+
+    /**
+     * Varsayılan dalgaları verilen bitmap'e çizer.
+     *
+     * @param bitmap     Hedef bitmap, boş (transparan) olmalı
+     * @param waveColor  Dalga rengi
+     * @param waveLength Piksel cinsinden dalga boyu, bkz. {@link #getWaveLength}
+     * @param viewHeight Dokunun ait olduğu View'ın yüksekliği
+     * @param textureTop Dokunun ilk satırının View'daki karşılığı, bkz. {@link #getTextureTop}
+     */
+    static void drawWaves(Bitmap bitmap, int waveColor, float waveLength, int viewHeight, int textureTop) {
+        int width = bitmap.getWidth();
+        int height = bitmap.getHeight();
+        float defaultAmplitude = viewHeight * WaveDrawable.DEFAULT_AMPLITUDE_RATIO;
+        float defaultWaterLevel = viewHeight * WaveDrawable.DEFAULT_WATER_LEVEL_RATIO - textureTop;
+
+        Canvas canvas = new Canvas(bitmap);
+
+        Paint wavePaint = new Paint();
+        wavePaint.setStrokeWidth(2);
+        wavePaint.setAntiAlias(true);
+
+        // Varsayılan dalgaları bitmap'e çizin.
+        // y=Asin(ωx+φ)+h
+        final int endX = width + 1;
+        final int endY = height + 1;
+
+        // İkinci katman çeyrek dalga boyu kaydırılmış olarak aynı diziden okunur.
+        final int wave2Shift = (int) (waveLength / 4);
+        float[] waveY = new float[endX + wave2Shift];
+        WaveMath.computeWaveY(waveY, defaultWaterLevel, defaultAmplitude, waveLength);
+
+        // Her sütun için ayrı drawLine yerine, her katman tek bir drawLines çağrısıyla çizilir.
+        float[] lines = new float[endX * 4];
+        for (int beginX = 0; beginX < endX; beginX++) {
+            int i = beginX * 4;
+            lines[i] = beginX;
+            lines[i + 1] = waveY[beginX];
+            lines[i + 2] = beginX;
+            lines[i + 3] = endY;
+        }
+        wavePaint.setColor(adjustAlpha(waveColor, 0.3f));
+        canvas.drawLines(lines, wavePaint);
+
+        for (int beginX = 0; beginX < endX; beginX++) {
+            lines[beginX * 4 + 1] = waveY[beginX + wave2Shift];
+        }
+        wavePaint.setColor(waveColor);
+        canvas.drawLines(lines, wavePaint);
+    }
+
+    /**
+     * Faktör tarafından verilen renk transparan
+     * Faktör sıfıra ne kadar yaklaşırsa saydamlık o kadar artar.
+     *
+     * @param color  Transparan rengi
+     * @param factor 1.0f to 0.0f
+     * @return int - A transplanted color
+     */
+    static int adjustAlpha(int color, float factor) {
+        int alpha = Math.round(Color.alpha(color) * factor);
+        int red = Color.red(color);
+        int green = Color.green(color);
+        int blue = Color.blue(color);
+        return Color.argb(alpha, red, green, blue);
+    }
+}
@@ -0,0 +1,386 @@
+package me.itangqi.waveloadingview;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.os.Looper;
+import android.os.MessageQueue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uygulama genelinde paylaşılan, referans sayımlı dalga dokusu havuzu.
+ * <p>
+ * Aynı boyut, renk, dalga boyu oranı ve doku moduna sahip WaveLoadingView'lar tek bir bitmap'i paylaşır.
+ * Hiçbir View tarafından kullanılmayan dokular LRU sırasıyla, bayt bütçesi aşılana kadar saklanır.
+ * Sadece rengi değişen ve tek bir View'a ait olan doku yeni bir bitmap ayrılmadan yerinde yeniden çizilir.
+ * Önceden hazırlanan dokular ise bütçeden bağımsız olarak ilk kullanan View'a kadar tutulur.
+ * Tüm metodlar ana (UI) thread'den çağrılmalıdır; başka bir thread'de çizen {@link WaveTextureView} kendi
+ * havuzunu oluşturur ve sadece o thread'den kullanır.
+ */
+public final class WaveTexturePool {
+    private static final int DEFAULT_MAX_CACHE_BYTES = 4 * 1024 * 1024;
+
+    private static final WaveTexturePool sInstance = new WaveTexturePool(DEFAULT_MAX_CACHE_BYTES);
+
+    // En az bir View tarafından kullanılan dokular.
+    private final Map<Key, Texture> mInUse = new HashMap<>();
+    // Kullanılmayan dokular, en eski erişilen başta olacak şekilde.
+    private final LinkedHashMap<Key, Texture> mUnused = new LinkedHashMap<>(16, 0.75f, true);
+    private int mMaxCacheBytes;
+    private int mCacheBytes;
+    private int mInUseBytes;
+    // Arka planda doku oluşturmak için; ilk kullanımda oluşturulur.
+    private Executor mGenerationExecutor;
+    // Ana thread boşta kaldığında oluşturulacak dokular ve henüz bir View tarafından alınmamış hazır dokular.
+    private final ArrayList<Key> mPrewarmQueue = new ArrayList<>();
+    private final ArrayList<Texture> mPrewarmed = new ArrayList<>();
+    private final MessageQueue.IdleHandler mPrewarmIdleHandler = new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+            return prewarmNext();
+        }
+    };
+
+    WaveTexturePool(int maxCacheBytes) {
+        mMaxCacheBytes = maxCacheBytes;
+    }
+
+    public static WaveTexturePool getInstance() {
+        return sInstance;
+    }
+
+    /**
+     * Kullanılmayan dokular için ayrılan bayt bütçesini ayarlar. Kullanımdaki dokular bu bütçeye dahil değildir.
+     *
+     * @param maxCacheBytes Varsayılan 4 MB.
+     */
+    public void setMaxCacheBytes(int maxCacheBytes) {
+        mMaxCacheBytes = maxCacheBytes;
+        trimToSize(maxCacheBytes);
+    }
+
+    public int getMaxCacheBytes() {
+        return mMaxCacheBytes;
+    }
+
+    /**
+     * @return Havuzdaki tüm dokuların (kullanımda ve önbellekte) toplam bayt boyutu.
+     */
+    public int getTotalBytes() {
+        return mInUseBytes + mCacheBytes;
+    }
+
+    /**
+     * Arka planda doku oluşturan View'ların kullanacağı Executor'ı ayarlar. Varsayılan olarak tek bir düşük
+     * öncelikli thread kullanılır; uygulamanın kendi thread havuzu burada verilebilir. Null varsayılana döner.
+     */
+    public void setGenerationExecutor(Executor executor) {
+        mGenerationExecutor = executor;
+    }
+
+    public Executor getGenerationExecutor() {
+        if (mGenerationExecutor == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable runnable) {
+                            Thread thread = new Thread(runnable, "WaveTexture");
+                            thread.setDaemon(true);
+                            thread.setPriority(Thread.MIN_PRIORITY);
+                            return thread;
+                        }
+                    });
+            // Boşta kalan thread kapanır, bir sonraki istekte yeniden açılır.
+            executor.allowCoreThreadTimeOut(true);
+            mGenerationExecutor = executor;
+        }
+        return mGenerationExecutor;
+    }
+
+    /**
+     * Kullanılmayan ve önceden hazırlanıp henüz kullanılmamış tüm dokuları serbest bırakır.
+     */
+    public void evictAll() {
+        mPrewarmQueue.clear();
+        Texture[] prewarmed = mPrewarmed.toArray(new Texture[mPrewarmed.size()]);
+        mPrewarmed.clear();
+        for (Texture texture : prewarmed) {
+            release(texture);
+        }
+        trimToSize(0);
+    }
+
+    /**
+     * Dokuyu ana thread bir sonraki boşta kaldığında oluşturmak üzere sıraya alır. Ana thread'den çağrılmalıdır.
+     */
+    void prewarm(int width, int height, int waveColor, float waveLengthRatio, WaveLoadingView.TextureMode mode) {
+        Key key = new Key(width, height, waveColor, waveLengthRatio, mode);
+        if (mInUse.containsKey(key) || mPrewarmQueue.contains(key)) {
+            return;
+        }
+        Texture cached = find(key);
+        if (cached != null) {
+            // Önbellekte zaten var; sadece bütçe yüzünden atılmasın diye tutulur.
+            cached.addRef();
+            mPrewarmed.add(cached);
+            return;
+        }
+        if (mPrewarmQueue.isEmpty()) {
+            Looper.myQueue().addIdleHandler(mPrewarmIdleHandler);
+        }
+        mPrewarmQueue.add(key);
+    }
+
+    /**
+     * Sıradaki ilk dokuyu oluşturur.
+     *
+     * @return Sırada başka doku kaldıysa true
+     */
+    boolean prewarmNext() {
+        if (mPrewarmQueue.isEmpty()) {
+            return false;
+        }
+        Texture texture = acquire(mPrewarmQueue.remove(0));
+        if (texture.mRefCount > 1) {
+            // Bu arada bir View tarafından alındı, ayrıca tutmaya gerek yok.
+            texture.mRefCount--;
+        } else {
+            mPrewarmed.add(texture);
+        }
+        return !mPrewarmQueue.isEmpty();
+    }
+
+    Texture acquire(int width, int height, int waveColor, float waveLengthRatio,
+                    WaveLoadingView.TextureMode mode) {
+        return acquire(new Key(width, height, waveColor, waveLengthRatio, mode));
+    }
+
+    private Texture acquire(Key key) {
+        Texture texture = find(key);
+        if (texture == null) {
+            int top = WaveTextureFactory.getTextureTop(key.mHeight, key.mMode);
+            // Kullanılmayan dokuların bitmap'leri yeniden kullanılmaz; ayrılmış bir View'ın veya listede geri
+            // dönüştürülen bir satırın display list'i onlara hâlâ başvuruyor olabilir.
+            Bitmap bitmap = Bitmap.createBitmap(
+                    WaveTextureFactory.getTextureWidth(key.mWidth, key.mWaveLengthRatio, key.mMode),
+                    WaveTextureFactory.getTextureHeight(key.mHeight, key.mMode),
+                    WaveTextureFactory.getTextureConfig(key.mMode));
+            WaveTextureFactory.drawWaves(bitmap, key.mWaveColor,
+                    WaveTextureFactory.getWaveLength(key.mWidth, key.mWaveLengthRatio, key.mMode), key.mHeight, top);
+            texture = new Texture(key, bitmap, top);
+            putInUse(texture);
+        }
+        texture.addRef();
+        return texture;
+    }
+
+    /**
+     * Doku havuzda varsa referansını alır, yoksa oluşturmadan null döner.
+     */
+    Texture acquireIfCached(int width, int height, int waveColor, float waveLengthRatio,
+                            WaveLoadingView.TextureMode mode) {
+        Texture texture = find(new Key(width, height, waveColor, waveLengthRatio, mode));
+        if (texture != null) {
+            texture.addRef();
+        }
+        return texture;
+    }
+
+    /**
+     * Arka planda çizilmiş bir bitmap'i havuza ekler ve referansını alır. Aynı doku bu arada başka bir
+     * View için oluşturulduysa o kullanılır ve verilen bitmap bırakılır.
+     */
+    Texture adopt(int width, int height, int waveColor, float waveLengthRatio,
+                  WaveLoadingView.TextureMode mode, Bitmap bitmap, int top) {
+        Key key = new Key(width, height, waveColor, waveLengthRatio, mode);
+        Texture texture = find(key);
+        if (texture == null) {
+            texture = new Texture(key, bitmap, top);
+            putInUse(texture);
+        }
+        texture.addRef();
+        return texture;
+    }
+
+    /**
+     * Referansı daha önce bırakılmış, fakat View tarafından tutulmaya devam eden bir dokuyu yeniden kaydeder.
+     * Doku bu arada önbellekten atıldıysa çizilmeden geri eklenir. Aynı anahtarla yeni bir doku oluşturulduysa
+     * o döner.
+     */
+    Texture retain(Texture texture) {
+        Texture current = find(texture.mKey);
+        if (current == null) {
+            current = texture;
+            putInUse(current);
+        }
+        current.addRef();
+        return current;
+    }
+
+    /**
+     * Dokuyu aynı bitmap üzerine yeni renkle yeniden çizer ve yeni anahtarla kaydeder. Bu, sadece doku
+     * oluşturulduğundan beri tek bir Drawable tarafından alınıp hâlâ onda duruyorsa yapılır; başka bir View'ın
+     * (ayrılmış olsa bile) display list'i bu bitmap'e başvuruyor olamaz. Yeni renk için havuzda zaten bir doku
+     * varsa o kullanılsın diye yine false döner.
+     *
+     * @return Doku yerinde yeniden çizildiyse true; false ise çağıran yeni dokuyu {@link #acquire} ile almalıdır
+     */
+    boolean recolor(Texture texture, int waveColor) {
+        Key old = texture.mKey;
+        Key key = new Key(old.mWidth, old.mHeight, waveColor, old.mWaveLengthRatio, old.mMode);
+        if (texture.mRefCount != 1 || texture.mAcquireCount != 1 || mInUse.get(old) != texture
+                || mInUse.containsKey(key) || mUnused.containsKey(key)) {
+            return false;
+        }
+        mInUse.remove(old);
+        texture.mKey = key;
+        mInUse.put(key, texture);
+        texture.mBitmap.eraseColor(Color.TRANSPARENT);
+        WaveTextureFactory.drawWaves(texture.mBitmap, waveColor,
+                WaveTextureFactory.getWaveLength(key.mWidth, key.mWaveLengthRatio, key.mMode), key.mHeight,
+                texture.mTop);
+        return true;
+    }
+
+    /**
+     * Kullanımdaki veya önbellekteki dokuyu bulur; önbellekteyse kullanımdakilere taşır. Önceden hazırlanmış
+     * dokunun tutulan referansı, çağıranın alacağı referansa devredilir.
+     */
+    private Texture find(Key key) {
+        Texture texture = mInUse.get(key);
+        if (texture == null) {
+            texture = mUnused.remove(key);
+            if (texture != null) {
+                mCacheBytes -= texture.mByteCount;
+                putInUse(texture);
+            }
+        } else if (mPrewarmed.remove(texture)) {
+            texture.mRefCount--;
+        }
+        return texture;
+    }
+
+    private void putInUse(Texture texture) {
+        mInUse.put(texture.mKey, texture);
+        mInUseBytes += texture.mByteCount;
+    }
+
+    void release(Texture texture) {
+        if (texture.mRefCount <= 0 || --texture.mRefCount > 0) {
+            return;
+        }
+        mInUse.remove(texture.mKey);
+        mInUseBytes -= texture.mByteCount;
+        mUnused.put(texture.mKey, texture);
+        mCacheBytes += texture.mByteCount;
+        trimToSize(mMaxCacheBytes);
+    }
+
+    private void trimToSize(int maxBytes) {
+        Iterator<Texture> it = mUnused.values().iterator();
+        while (mCacheBytes > maxBytes && it.hasNext()) {
+            Texture eldest = it.next();
+            it.remove();
+            mCacheBytes -= eldest.mByteCount;
+            // Bitmap'i recycle etmiyoruz; hâlâ bir display list tarafından kullanılıyor olabilir.
+        }
+    }
+
+    static final class Texture {
+        private Key mKey;
+        private final Bitmap mBitmap;
+        private final int mTop;
+        private final int mByteCount;
+        private int mRefCount;
+        // Dokunun kaç kez alındığı; bir kez alındıysa bitmap'i sadece o Drawable görmüştür.
+        private int mAcquireCount;
+
+        private Texture(Key key, Bitmap bitmap, int top) {
+            mKey = key;
+            mBitmap = bitmap;
+            mTop = top;
+            mByteCount = bitmap.getByteCount();
+        }
+
+        private void addRef() {
+            mRefCount++;
+            mAcquireCount++;
+        }
+
+        Bitmap getBitmap() {
+            return mBitmap;
+        }
+
+        int getByteCount() {
+            return mByteCount;
+        }
+
+        /**
+         * @return Dokunun ilk satırının View'daki karşılığı; tam boy dokularda 0.
+         */
+        int getTop() {
+            return mTop;
+        }
+
+        /**
+         * @return Doku verilen View boyutu ve doku modu için oluşturulduysa, rengi farklı olsa bile true
+         */
+        boolean fits(int width, int height, WaveLoadingView.TextureMode mode) {
+            return mKey.mWidth == width && mKey.mHeight == height && mKey.mMode == mode;
+        }
+
+        boolean matches(int width, int height, int waveColor, float waveLengthRatio,
+                        WaveLoadingView.TextureMode mode) {
+            return mKey.mWidth == width && mKey.mHeight == height && mKey.mWaveColor == waveColor
+                    && mKey.mWaveLengthRatio == waveLengthRatio && mKey.mMode == mode;
+        }
+    }
+
+    private static final class Key {
+        private final int mWidth;
+        private final int mHeight;
+        private final int mWaveColor;
+        private final float mWaveLengthRatio;
+        private final WaveLoadingView.TextureMode mMode;
+
+        Key(int width, int height, int waveColor, float waveLengthRatio, WaveLoadingView.TextureMode mode) {
+            mWidth = width;
+            mHeight = height;
+            mWaveColor = waveColor;
+            mWaveLengthRatio = waveLengthRatio;
+            mMode = mode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return mWidth == key.mWidth && mHeight == key.mHeight && mWaveColor == key.mWaveColor
+                    && Float.compare(mWaveLengthRatio, key.mWaveLengthRatio) == 0 && mMode == key.mMode;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = mWidth;
+            result = 31 * result + mHeight;
+            result = 31 * result + mWaveColor;
+            result = 31 * result + Float.floatToIntBits(mWaveLengthRatio);
+            result = 31 * result + mMode.hashCode();
+            return result;
+        }
+    }
+}
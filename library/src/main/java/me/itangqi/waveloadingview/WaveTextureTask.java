@@ -0,0 +1,90 @@
+package me.itangqi.waveloadingview;
+
+import android.graphics.Bitmap;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dalga dokusunu arka plan thread'inde oluşturur ve sonucu ana thread'e teslim eder.
+ * <p>
+ * Her istek, oluşturulduğu andaki nesil numarasını taşır. View yeni bir boyut veya renk istediğinde
+ * nesil artırılır; eski istekler henüz başlamadıysa hiç çalışmaz, çalışıyorsa ilk fırsatta bırakılır ve
+ * sonuçları teslim edilmez.
+ */
+final class WaveTextureTask implements Runnable {
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    interface Callback {
+        /**
+         * Doku hazır olduğunda ana thread'de çağrılır. İstek bu arada geçersiz kalmış olabilir,
+         * bkz. {@link #isCancelled()}.
+         */
+        void onTextureGenerated(WaveTextureTask task);
+    }
+
+    private final int mWidth;
+    private final int mHeight;
+    private final int mWaveColor;
+    private final float mWaveLengthRatio;
+    private final WaveLoadingView.TextureMode mMode;
+    private final int mGeneration;
+    private final AtomicInteger mCurrentGeneration;
+    private final Callback mCallback;
+    private Bitmap mBitmap;
+    private int mTop;
+
+    WaveTextureTask(int width, int height, int waveColor, float waveLengthRatio, WaveLoadingView.TextureMode mode,
+                    AtomicInteger currentGeneration, Callback callback) {
+        mWidth = width;
+        mHeight = height;
+        mWaveColor = waveColor;
+        mWaveLengthRatio = waveLengthRatio;
+        mMode = mode;
+        mGeneration = currentGeneration.get();
+        mCurrentGeneration = currentGeneration;
+        mCallback = callback;
+    }
+
+    boolean isCancelled() {
+        return mCurrentGeneration.get() != mGeneration;
+    }
+
+    @Override
+    public void run() {
+        if (isCancelled()) {
+            return;
+        }
+        int top = WaveTextureFactory.getTextureTop(mHeight, mMode);
+        Bitmap bitmap = Bitmap.createBitmap(WaveTextureFactory.getTextureWidth(mWidth, mWaveLengthRatio, mMode),
+                WaveTextureFactory.getTextureHeight(mHeight, mMode), WaveTextureFactory.getTextureConfig(mMode));
+        if (isCancelled()) {
+            return;
+        }
+        WaveTextureFactory.drawWaves(bitmap, mWaveColor,
+                WaveTextureFactory.getWaveLength(mWidth, mWaveLengthRatio, mMode), mHeight, top);
+        if (isCancelled()) {
+            return;
+        }
+        mBitmap = bitmap;
+        mTop = top;
+        MAIN_HANDLER.post(new Runnable() {
+            @Override
+            public void run() {
+                mCallback.onTextureGenerated(WaveTextureTask.this);
+            }
+        });
+    }
+
+    /**
+     * Oluşturulan dokuyu havuza ekler ve referansını alır. Sadece ana thread'den, teslimden sonra çağrılmalıdır.
+     */
+    WaveTexturePool.Texture acquire(WaveTexturePool pool) {
+        return pool.adopt(mWidth, mHeight, mWaveColor, mWaveLengthRatio, mMode, mBitmap, mTop);
+    }
+
+    int getHeight() {
+        return mHeight;
+    }
+}
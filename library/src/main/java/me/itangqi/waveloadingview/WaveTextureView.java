@@ -0,0 +1,485 @@
+package me.itangqi.waveloadingview;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.PorterDuff;
+import android.graphics.SurfaceTexture;
+import android.os.Build;
+import android.os.Process;
+import android.util.AttributeSet;
+import android.view.Surface;
+import android.view.TextureView;
+import android.view.View;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * WaveLoadingView'ın ana thread'i kullanmadan çizen hali.
+ * <p>
+ * Şekil, dalga ve başlık ayarları WaveLoadingView ile aynı özelliklerden okunur. Çizim ve animasyon,
+ * TextureView'ın yüzeyi hazır olduğunda başlayan ayrı bir thread'de, kendi kare hızıyla yapılır; ana thread
+ * meşgulken de dalga akıcı kalır. {@link #setProgressValue(int)} herhangi bir thread'den kilitsiz olarak
+ * çağrılabilir; diğer ayarlar sıraya alınır ve bir sonraki karede uygulanır.
+ * <p>
+ * Her View kendi dalga dokusunu oluşturur, {@link WaveTexturePool#getInstance()} havuzunu paylaşmaz.
+ * Donanım hızlandırmalı bir pencere gerektirir.
+ */
+public class WaveTextureView extends TextureView implements TextureView.SurfaceTextureListener {
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    private static final long NANOS_PER_MILLI = 1000000L;
+    // Kare hızı 0 ise kullanılır; yüzeyin kendi vsync'i olmadığı için ekranın yenileme hızı bilinmez.
+    private static final int DEFAULT_FRAME_RATE = 60;
+    private static final long DEFAULT_ANIM_DURATION = 1000;
+    private static final int NO_PROGRESS = Integer.MIN_VALUE;
+
+    /**
+     * Çizim thread'inde, Drawable'a uygulanacak bir ayar değişikliği.
+     */
+    private interface Edit {
+        void apply(WaveDrawable drawable);
+    }
+
+    // Sadece çizim thread'inden kullanılır; thread başlatılıp durdurulurken el değiştirir.
+    private WaveDrawable mWaveDrawable;
+
+    // Ana thread'den çizim thread'ine aktarılanlar.
+    private final ConcurrentLinkedQueue<Edit> mPendingEdits = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger mPendingProgress = new AtomicInteger(NO_PROGRESS);
+    // Genişlik üst, yükseklik alt 32 bitte.
+    private final AtomicLong mSurfaceSize = new AtomicLong();
+    private volatile int mFrameRate;
+    private volatile long mAnimDuration = DEFAULT_ANIM_DURATION;
+    private volatile boolean mVisibleToUser;
+
+    // Ölçüm ve getter'lar için ana thread'deki kopyalar.
+    private int mShapeType;
+    private volatile int mProgressValue;
+
+    private volatile RenderThread mRenderThread;
+
+    public WaveTextureView(Context context) {
+        this(context, null);
+    }
+
+    public WaveTextureView(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public WaveTextureView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init(context, attrs, defStyleAttr);
+    }
+
+    private void init(Context context, AttributeSet attrs, int defStyleAttr) {
+        WaveStyle style = WaveStyle.obtain(context, attrs, defStyleAttr);
+        // Drawable başlatılmaz; dalga ve su seviyesi kare saati yerine çizim thread'inde canlandırılır.
+        mWaveDrawable = new WaveDrawable(context, style);
+        // Doku çizim thread'inde, o thread'e ait bir havuzdan alınır; ana thread'deki havuz ve Executor
+        // kullanılmaz. Her karede tüm yüzey yeniden çizildiği için kısmi geçersiz kılma gereksiz.
+        mWaveDrawable.setAsyncTexture(false);
+        mWaveDrawable.setPartialInvalidate(false);
+        mWaveDrawable.setTexturePool(new WaveTexturePool(0));
+        mShapeType = style.mShapeType;
+        mProgressValue = style.mProgressValue;
+        mFrameRate = style.mFrameRate;
+        setOpaque(false);
+        setSurfaceTextureListener(this);
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = getDefaultSize(0, widthMeasureSpec);
+        int height = getDefaultSize(0, heightMeasureSpec);
+        // ShapType dikdörtgen ise;
+        if (mShapeType == 3) {
+            setMeasuredDimension(width, height);
+        } else {
+            int imageSize = (width < height) ? width : height;
+            setMeasuredDimension(imageSize, imageSize);
+        }
+    }
+
+    @Override
+    public void onSurfaceTextureAvailable(SurfaceTexture surfaceTexture, int width, int height) {
+        mSurfaceSize.set(packSize(width, height));
+        updateVisibility();
+        mRenderThread = new RenderThread(surfaceTexture);
+        mRenderThread.start();
+    }
+
+    @Override
+    public void onSurfaceTextureSizeChanged(SurfaceTexture surfaceTexture, int width, int height) {
+        mSurfaceSize.set(packSize(width, height));
+        wakeRenderThread();
+    }
+
+    @Override
+    public boolean onSurfaceTextureDestroyed(SurfaceTexture surfaceTexture) {
+        RenderThread thread = mRenderThread;
+        if (thread != null) {
+            mRenderThread = null;
+            // Yüzey, thread son karesini bitirmeden bırakılmamalı.
+            thread.quitAndWait();
+        }
+        return true;
+    }
+
+    @Override
+    public void onSurfaceTextureUpdated(SurfaceTexture surfaceTexture) {
+    }
+
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        updateVisibility();
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        updateVisibility();
+    }
+
+    /**
+     * View kullanıcıya görünmüyorsa çizim thread'i bir sonraki değişikliğe kadar bekler.
+     */
+    private void updateVisibility() {
+        mVisibleToUser = isShown() && getWindowVisibility() == VISIBLE;
+        wakeRenderThread();
+    }
+
+    private void wakeRenderThread() {
+        RenderThread thread = mRenderThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void queueEdit(Edit edit) {
+        mPendingEdits.add(edit);
+        wakeRenderThread();
+    }
+
+    /**
+     * Herhangi bir thread'den çağrılabilir. Çizim thread'i bir sonraki karede sadece en son değeri alır ve
+     * su seviyesini animasyonla yeni hedefe taşır.
+     *
+     * @param progress Varsayılan olarak 50.
+     */
+    public void setProgressValue(int progress) {
+        mProgressValue = progress;
+        mPendingProgress.set(progress);
+        wakeRenderThread();
+    }
+
+    public int getProgressValue() {
+        return mProgressValue;
+    }
+
+    /**
+     * Dalga animasyonunun en fazla kaç fps ile çizileceğini ayarlar.
+     *
+     * @param frameRate Saniyedeki kare sayısı; 0 ise 60. Varsayılan olarak 0.
+     */
+    public void setFrameRate(int frameRate) {
+        mFrameRate = Math.max(0, frameRate);
+    }
+
+    public int getFrameRate() {
+        return mFrameRate;
+    }
+
+    /**
+     * Animasyonun uzunluğunu ayarlar. Varsayılan süre 1000 milisaniyedir.
+     *
+     * @param duration Milisaniye cinsinden animasyonun uzunluğu.
+     */
+    public void setAnimDuration(long duration) {
+        mAnimDuration = duration;
+    }
+
+    public void setShapeType(final WaveLoadingView.ShapeType shapeType) {
+        mShapeType = shapeType.ordinal();
+        queueEdit(new Edit() {
+            @Override
+            public void apply(WaveDrawable drawable) {
+                drawable.setShapeType(shapeType);
+            }
+        });
+        requestLayout();
+    }
+
+    public int getShapeType() {
+        return mShapeType;
+    }
+
+    public void setWaveColor(final int color) {
+        queueEdit(new Edit() {
+            @Override
+            public void apply(WaveDrawable drawable) {
+                drawable.setWaveColor(color);
+            }
+        });
+    }
+
+    public void setWaveBgColor(final int color) {
+        queueEdit(new Edit() {
+            @Override
+            public void apply(WaveDrawable drawable) {
+                drawable.setWaveBgColor(color);
+            }
+        });
+    }
+
+    public void setBorderWidth(final float width) {
+        queueEdit(new Edit() {
+            @Override
+            public void apply(WaveDrawable drawable) {
+                drawable.setBorderWidth(width);
+            }
+        });
+    }
+
+    public void setBorderColor(final int color) {
+        queueEdit(new Edit() {
+            @Override
+            public void apply(WaveDrawable drawable) {
+                drawable.setBorderColor(color);
+            }
+        });
+    }
+
+    public void setAmplitudeRatio(final int amplitudeRatio) {
+        queueEdit(new Edit() {
+            @Override
+            public void apply(WaveDrawable drawable) {
+                drawable.setAmplitudeRatio(amplitudeRatio);
+            }
+        });
+    }
+
+    public void setTopTitle(final String topTitle) {
+        queueEdit(new Edit() {
+            @Override
+            public void apply(WaveDrawable drawable) {
+                drawable.setTopTitle(topTitle);
+            }
+        });
+    }
+
+    public void setCenterTitle(final String centerTitle) {
+        queueEdit(new Edit() {
+            @Override
+            public void apply(WaveDrawable drawable) {
+                drawable.setCenterTitle(centerTitle);
+            }
+        });
+    }
+
+    public void setBottomTitle(final String bottomTitle) {
+        queueEdit(new Edit() {
+            @Override
+            public void apply(WaveDrawable drawable) {
+                drawable.setBottomTitle(bottomTitle);
+            }
+        });
+    }
+
+    /**
+     * Orta başlığı her karede ilerleme değerinden oluşturur; bkz. {@link WaveLoadingView#setProgressLabel(String)}.
+     */
+    public void setProgressLabel(final String format) {
+        queueEdit(new Edit() {
+            @Override
+            public void apply(WaveDrawable drawable) {
+                drawable.setProgressLabel(format);
+            }
+        });
+    }
+
+    public void setTopTitleColor(final int topTitleColor) {
+        queueEdit(new Edit() {
+            @Override
+            public void apply(WaveDrawable drawable) {
+                drawable.setTopTitleColor(topTitleColor);
+            }
+        });
+    }
+
+    public void setCenterTitleColor(final int centerTitleColor) {
+        queueEdit(new Edit() {
+            @Override
+            public void apply(WaveDrawable drawable) {
+                drawable.setCenterTitleColor(centerTitleColor);
+            }
+        });
+    }
+
+    public void setBottomTitleColor(final int bottomTitleColor) {
+        queueEdit(new Edit() {
+            @Override
+            public void apply(WaveDrawable drawable) {
+                drawable.setBottomTitleColor(bottomTitleColor);
+            }
+        });
+    }
+
+    private static long packSize(int width, int height) {
+        return ((long) width << 32) | (height & 0xffffffffL);
+    }
+
+    /**
+     * Yüzey hazır olduğu sürece dalgayı çizer. Drawable'a sadece bu thread dokunur.
+     */
+    private final class RenderThread extends Thread {
+        private final SurfaceTexture mSurfaceTexture;
+        private volatile boolean mQuit;
+
+        private final WaterLevelAnimator mWaterLevelAnimator = new WaterLevelAnimator();
+        private long mSize = -1;
+        // Dalga animasyonunun başladığı an; bir sonraki karede belirlenecekse -1.
+        private long mWaveStartNanos = -1;
+        private float mWaveShiftOffset;
+        private long mWaveDuration;
+
+        RenderThread(SurfaceTexture surfaceTexture) {
+            super("WaveRender");
+            mSurfaceTexture = surfaceTexture;
+        }
+
+        void quitAndWait() {
+            mQuit = true;
+            LockSupport.unpark(this);
+            boolean interrupted = false;
+            while (isAlive()) {
+                try {
+                    join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_DISPLAY);
+            WaveDrawable drawable = mWaveDrawable;
+            mWaterLevelAnimator.setValue(drawable.getWaterLevelRatio());
+            mWaveShiftOffset = drawable.getWaveShiftRatio();
+            Surface surface = new Surface(mSurfaceTexture);
+            try {
+                while (!mQuit) {
+                    applyPendingChanges(drawable);
+                    if (!mVisibleToUser) {
+                        // Dalga tekrar görünür olduğunda kaldığı yerden devam eder.
+                        if (mWaveStartNanos >= 0) {
+                            mWaveShiftOffset = drawable.getWaveShiftRatio();
+                            mWaveStartNanos = -1;
+                        }
+                        LockSupport.park(this);
+                        continue;
+                    }
+                    long frameTimeNanos = System.nanoTime();
+                    doAnimationFrame(drawable, frameTimeNanos);
+                    drawFrame(surface, drawable);
+
+                    int frameRate = mFrameRate;
+                    long intervalNanos = NANOS_PER_SECOND / (frameRate > 0 ? frameRate : DEFAULT_FRAME_RATE);
+                    long waitNanos = frameTimeNanos + intervalNanos - System.nanoTime();
+                    if (waitNanos > 0) {
+                        LockSupport.parkNanos(this, waitNanos);
+                    }
+                }
+            } finally {
+                // Doku sadece bu thread'in havuzunda olduğu için burada bırakılır.
+                drawable.release();
+                surface.release();
+            }
+        }
+
+        /**
+         * Ana thread'den gelen boyut, ilerleme ve ayar değişikliklerini uygular.
+         */
+        private void applyPendingChanges(WaveDrawable drawable) {
+            Edit edit = mPendingEdits.poll();
+            if (edit != null) {
+                drawable.beginEdit();
+                do {
+                    edit.apply(drawable);
+                    edit = mPendingEdits.poll();
+                } while (edit != null);
+                drawable.endEdit();
+            }
+
+            long size = mSurfaceSize.get();
+            if (size != mSize) {
+                mSize = size;
+                drawable.setBounds(0, 0, (int) (size >>> 32), (int) size);
+            }
+
+            int progress = mPendingProgress.getAndSet(NO_PROGRESS);
+            if (progress != NO_PROGRESS) {
+                float waterLevel = (float) progress / 100;
+                if (mVisibleToUser) {
+                    mWaterLevelAnimator.animateTo(waterLevel);
+                } else {
+                    // Görünmezken animasyona gerek yok; tekrar görünür olduğunda hedefte olsun.
+                    mWaterLevelAnimator.setValue(waterLevel);
+                    drawable.setWaterLevelRatio(waterLevel);
+                }
+            }
+        }
+
+        /**
+         * Dalga kaymasını ve su seviyesini kare zamanından hesaplar.
+         */
+        private void doAnimationFrame(WaveDrawable drawable, long frameTimeNanos) {
+            long duration = mAnimDuration;
+            if (duration != mWaveDuration) {
+                // Dalga hızı değişse de konumu sıçramasın.
+                mWaveShiftOffset = drawable.getWaveShiftRatio();
+                mWaveStartNanos = -1;
+                mWaveDuration = duration;
+            }
+            if (mWaveStartNanos < 0) {
+                mWaveStartNanos = frameTimeNanos;
+            }
+            long durationNanos = duration * NANOS_PER_MILLI;
+            float shift = mWaveShiftOffset;
+            if (durationNanos > 0) {
+                shift += (float) ((frameTimeNanos - mWaveStartNanos) % durationNanos) / durationNanos;
+            }
+            drawable.setWaveShiftRatio(shift >= 1f ? shift - 1f : shift);
+
+            if (mWaterLevelAnimator.isRunning()) {
+                mWaterLevelAnimator.doFrame(frameTimeNanos);
+                drawable.setWaterLevelRatio(mWaterLevelAnimator.getValue());
+            }
+        }
+
+        private void drawFrame(Surface surface, WaveDrawable drawable) {
+            if ((int) (mSize >>> 32) <= 0 || (int) mSize <= 0 || !surface.isValid()) {
+                return;
+            }
+            Canvas canvas = Build.VERSION.SDK_INT >= Build.VERSION_CODES.M
+                    ? surface.lockHardwareCanvas() : surface.lockCanvas(null);
+            if (canvas == null) {
+                return;
+            }
+            try {
+                // Yüzey önceki karenin içeriğini tutar; şeklin dışı saydam kalmalı.
+                canvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+                drawable.draw(canvas);
+            } finally {
+                surface.unlockCanvasAndPost(canvas);
+            }
+        }
+    }
+}
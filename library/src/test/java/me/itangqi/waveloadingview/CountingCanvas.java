@@ -0,0 +1,86 @@
+package me.itangqi.waveloadingview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+
+/**
+ * Hiçbir şey çizmeyen, sadece çizim çağrılarını sayan tuval. PATH modunu sınamak için donanım
+ * hızlandırmalı bir tuval gibi davranabilir.
+ */
+class CountingCanvas extends Canvas {
+    private final int mWidth;
+    private final int mHeight;
+    private final boolean mHardwareAccelerated;
+    private int mDrawCalls;
+
+    CountingCanvas(int width, int height) {
+        this(width, height, false);
+    }
+
+    CountingCanvas(int width, int height, boolean hardwareAccelerated) {
+        mWidth = width;
+        mHeight = height;
+        mHardwareAccelerated = hardwareAccelerated;
+    }
+
+    int getDrawCalls() {
+        return mDrawCalls;
+    }
+
+    void reset() {
+        mDrawCalls = 0;
+    }
+
+    @Override
+    public int getWidth() {
+        return mWidth;
+    }
+
+    @Override
+    public int getHeight() {
+        return mHeight;
+    }
+
+    @Override
+    public boolean isHardwareAccelerated() {
+        return mHardwareAccelerated;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        mDrawCalls++;
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        mDrawCalls++;
+    }
+
+    @Override
+    public void drawRect(RectF rect, Paint paint) {
+        mDrawCalls++;
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        mDrawCalls++;
+    }
+
+    @Override
+    public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        mDrawCalls++;
+    }
+
+    @Override
+    public void drawPath(Path path, Paint paint) {
+        mDrawCalls++;
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        mDrawCalls++;
+    }
+}
@@ -0,0 +1,53 @@
+package me.itangqi.waveloadingview;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FrameRateControllerTest {
+    private static final long VSYNC_60 = 16666667L;
+    private static final long VSYNC_120 = 8333333L;
+
+    @Test
+    public void displayRateRendersEveryFrame() throws Exception {
+        FrameRateController controller = new FrameRateController();
+        assertEquals(60, countRenderedFrames(controller, VSYNC_60, 60, false));
+    }
+
+    @Test
+    public void targetRateIsHonouredOnHighRefreshDisplays() throws Exception {
+        FrameRateController controller = new FrameRateController();
+        controller.setFrameRate(30);
+        assertEquals(30, countRenderedFrames(controller, VSYNC_60, 60, false));
+        controller.reset();
+        assertEquals(30, countRenderedFrames(controller, VSYNC_120, 120, false));
+    }
+
+    @Test
+    public void adaptiveModeReducesRateOnlyWhenConstrained() throws Exception {
+        FrameRateController controller = new FrameRateController();
+        controller.setAdaptive(true);
+        assertEquals(60, countRenderedFrames(controller, VSYNC_60, 60, false));
+        controller.reset();
+        assertEquals(FrameRateController.REDUCED_FRAME_RATE, countRenderedFrames(controller, VSYNC_60, 60, true));
+    }
+
+    @Test
+    public void constraintIsIgnoredWhenNotAdaptive() throws Exception {
+        FrameRateController controller = new FrameRateController();
+        controller.setFrameRate(30);
+        assertEquals(30, controller.getEffectiveFrameRate(true));
+        controller.setAdaptive(true);
+        assertEquals(FrameRateController.REDUCED_FRAME_RATE, controller.getEffectiveFrameRate(true));
+    }
+
+    private static int countRenderedFrames(FrameRateController controller, long vsync, int frames, boolean constrained) {
+        int rendered = 0;
+        for (int i = 0; i < frames; i++) {
+            if (controller.shouldRender(i * vsync, constrained)) {
+                rendered++;
+            }
+        }
+        return rendered;
+    }
+}
@@ -0,0 +1,43 @@
+package me.itangqi.waveloadingview;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ProgressLabelTest {
+
+    @Test
+    public void formatsValueIntoBuffer() throws Exception {
+        ProgressLabel label = new ProgressLabel("%{p} done");
+        for (int value = -5; value <= 1000; value++) {
+            assertTrue(label.setValue(value));
+            assertEquals("%" + value + " done", new String(label.getText(), 0, label.getLength()));
+        }
+    }
+
+    @Test
+    public void sameValueIsIgnored() throws Exception {
+        ProgressLabel label = new ProgressLabel("{p}%");
+        assertTrue(label.setValue(42));
+        assertFalse(label.setValue(42));
+        assertEquals("42%", new String(label.getText(), 0, label.getLength()));
+    }
+
+    @Test
+    public void bufferIsReused() throws Exception {
+        ProgressLabel label = new ProgressLabel("{p}%");
+        char[] buffer = label.getText();
+        label.setValue(Integer.MIN_VALUE);
+        assertEquals(Integer.MIN_VALUE + "%", new String(label.getText(), 0, label.getLength()));
+        label.setValue(7);
+        assertSame(buffer, label.getText());
+    }
+
+    @Test
+    public void formatWithoutPlaceholderIsShownAsIs() throws Exception {
+        ProgressLabel label = new ProgressLabel("Loading");
+        assertTrue(label.setValue(10));
+        assertFalse(label.setValue(20));
+        assertEquals("Loading", new String(label.getText(), 0, label.getLength()));
+    }
+}
@@ -0,0 +1,33 @@
+package me.itangqi.waveloadingview;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SineTableTest {
+
+    @Test
+    public void matchesMathSin() throws Exception {
+        for (int i = -20000; i <= 20000; i++) {
+            float turns = i / 7919f;
+            assertEquals(Math.sin(2 * Math.PI * turns), SineTable.sin(turns), 1e-5);
+            assertEquals(Math.cos(2 * Math.PI * turns), SineTable.cos(turns), 1e-5);
+        }
+    }
+
+    @Test
+    public void waveColumnsStayWithinSubPixelOfReference() throws Exception {
+        int width = 1080;
+        int height = 1920;
+        float waterLevel = height * WaveDrawable.DEFAULT_WATER_LEVEL_RATIO;
+        float amplitude = height * WaveDrawable.DEFAULT_AMPLITUDE_RATIO;
+        float[] waveY = new float[width + 1];
+        WaveMath.computeWaveY(waveY, waterLevel, amplitude, width);
+
+        double angularFrequency = 2.0f * Math.PI / width;
+        for (int x = 0; x < waveY.length; x++) {
+            float reference = (float) (waterLevel + amplitude * Math.sin(x * angularFrequency));
+            assertEquals(reference, waveY[x], 0.01f);
+        }
+    }
+}
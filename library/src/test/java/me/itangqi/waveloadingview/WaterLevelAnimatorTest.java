@@ -0,0 +1,59 @@
+package me.itangqi.waveloadingview;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WaterLevelAnimatorTest {
+    private static final long FRAME_NANOS = 16666667L;
+
+    @Test
+    public void settlesOnTargetWithoutOvershoot() throws Exception {
+        WaterLevelAnimator animator = new WaterLevelAnimator();
+        animator.setValue(0f);
+        assertTrue(animator.animateTo(0.8f));
+
+        long time = 0;
+        float previous = 0f;
+        while (animator.doFrame(time)) {
+            float value = animator.getValue();
+            assertTrue("level must rise monotonically", value >= previous);
+            assertTrue("critically damped spring must not overshoot", value <= 0.8f);
+            previous = value;
+            time += FRAME_NANOS;
+            assertTrue("should settle within two seconds", time < 2000000000L);
+        }
+        assertEquals(0.8f, animator.getValue(), 0f);
+        assertFalse(animator.isRunning());
+    }
+
+    @Test
+    public void sameTargetIsIgnored() throws Exception {
+        WaterLevelAnimator animator = new WaterLevelAnimator();
+        animator.setValue(0.5f);
+        assertFalse(animator.animateTo(0.5f));
+        assertFalse(animator.isRunning());
+
+        assertTrue(animator.animateTo(0.7f));
+        assertFalse(animator.animateTo(0.7f));
+    }
+
+    @Test
+    public void retargetKeepsValueContinuous() throws Exception {
+        WaterLevelAnimator animator = new WaterLevelAnimator();
+        animator.setValue(0f);
+        animator.animateTo(1f);
+        long time = 0;
+        for (int i = 0; i < 10; i++) {
+            animator.doFrame(time);
+            time += FRAME_NANOS;
+        }
+        float before = animator.getValue();
+
+        animator.animateTo(0.2f);
+        animator.doFrame(time);
+        // Bir karelik adım, yeni hedefe sıçramak yerine mevcut değerin yakınında kalmalı.
+        assertEquals(before, animator.getValue(), 0.05f);
+        assertTrue(animator.isRunning());
+    }
+}
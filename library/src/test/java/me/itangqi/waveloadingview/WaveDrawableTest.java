@@ -0,0 +1,114 @@
+package me.itangqi.waveloadingview;
+
+import android.graphics.Color;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24)
+public class WaveDrawableTest {
+    // Havuzda başka testlerden kalmış dokularla çakışmayan boyut.
+    private static final int SIZE = 197;
+
+    private WaveDrawable mDrawable;
+
+    @Before
+    public void setUp() {
+        WaveTexturePool.getInstance().evictAll();
+        mDrawable = new WaveDrawable(RuntimeEnvironment.application);
+        mDrawable.setMetricsEnabled(true);
+    }
+
+    @Test
+    public void frameCallbackWaitsUntilVisible() {
+        int callbacks = WaveFrameClock.getInstance().getCallbackCount();
+        WaveDrawable drawable = new WaveDrawable(RuntimeEnvironment.application);
+        assertEquals(callbacks, WaveFrameClock.getInstance().getCallbackCount());
+        assertEquals(0.5f, drawable.getWaterLevelRatio(), 0.0001f);
+
+        drawable.setVisible(false, false);
+        drawable.setProgressValue(80);
+        assertEquals(callbacks, WaveFrameClock.getInstance().getCallbackCount());
+
+        drawable.setVisible(true, false);
+        assertEquals(callbacks + 1, WaveFrameClock.getInstance().getCallbackCount());
+
+        drawable.jumpToCurrentState();
+        assertEquals(callbacks, WaveFrameClock.getInstance().getCallbackCount());
+        assertEquals(0.8f, drawable.getWaterLevelRatio(), 0.0001f);
+    }
+
+    @Test
+    public void levelIsMappedToProgress() {
+        mDrawable.setLevel(2500);
+        assertEquals(25, mDrawable.getProgressValue());
+
+        mDrawable.setLevel(10000);
+        assertEquals(100, mDrawable.getProgressValue());
+    }
+
+    @Test
+    public void drawsInsideOffsetBounds() {
+        mDrawable.setBounds(10, 20, 10 + SIZE, 20 + SIZE);
+        assertEquals(1, mDrawable.getMetrics().getShaderRebuildCount());
+
+        CountingCanvas canvas = new CountingCanvas(SIZE + 20, SIZE + 40);
+        mDrawable.draw(canvas);
+        assertTrue(canvas.getDrawCalls() > 0);
+
+        // Sadece konum değiştiyse doku yeniden oluşturulmaz.
+        mDrawable.setBounds(0, 0, SIZE, SIZE);
+        assertEquals(1, mDrawable.getMetrics().getShaderRebuildCount());
+    }
+
+    @Test
+    public void animationPausesWhileInvisible() {
+        int callbacks = WaveFrameClock.getInstance().getCallbackCount();
+        mDrawable.start();
+        assertTrue(mDrawable.isRunning());
+        assertEquals(callbacks + 1, WaveFrameClock.getInstance().getCallbackCount());
+
+        mDrawable.setVisible(false, false);
+        assertTrue(mDrawable.isRunning());
+        assertEquals(callbacks, WaveFrameClock.getInstance().getCallbackCount());
+
+        mDrawable.setVisible(true, false);
+        assertEquals(callbacks + 1, WaveFrameClock.getInstance().getCallbackCount());
+
+        mDrawable.stop();
+        assertFalse(mDrawable.isRunning());
+        assertEquals(callbacks, WaveFrameClock.getInstance().getCallbackCount());
+    }
+
+    @Test
+    public void releasedTextureIsAcquiredAgainOnDraw() {
+        mDrawable.setBounds(0, 0, SIZE, SIZE);
+        mDrawable.release();
+        assertEquals(0, mDrawable.getMetrics().getBitmapBytes());
+
+        mDrawable.draw(new CountingCanvas(SIZE, SIZE));
+        assertTrue(mDrawable.getMetrics().getBitmapBytes() > 0);
+    }
+
+    @Test
+    public void viewDelegatesToDrawable() {
+        WaveLoadingView view = new WaveLoadingView(RuntimeEnvironment.application);
+        view.setWaveColor(Color.RED);
+        view.setProgressValue(80);
+
+        WaveDrawable drawable = view.getWaveDrawable();
+        assertSame(view, drawable.getCallback());
+        assertEquals(Color.RED, drawable.getWaveColor());
+        assertEquals(80, drawable.getProgressValue());
+    }
+}
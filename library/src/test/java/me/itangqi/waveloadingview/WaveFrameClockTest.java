@@ -0,0 +1,61 @@
+package me.itangqi.waveloadingview;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24)
+public class WaveFrameClockTest {
+
+    @Test
+    public void callbackRemovedDuringFrameIsSkipped() {
+        final WaveFrameClock clock = WaveFrameClock.getInstance();
+        final CountingCallback second = new CountingCallback();
+        final CountingCallback first = new CountingCallback() {
+            @Override
+            public void onFrame(long frameTimeNanos) {
+                super.onFrame(frameTimeNanos);
+                clock.removeCallback(this);
+                clock.removeCallback(second);
+            }
+        };
+        int callbacks = clock.getCallbackCount();
+        clock.addCallback(first);
+        clock.addCallback(second);
+
+        clock.doFrame(System.nanoTime());
+        assertEquals(1, first.mFrames);
+        assertEquals(0, second.mFrames);
+        assertEquals(callbacks, clock.getCallbackCount());
+    }
+
+    @Test
+    public void remainingCallbacksGetEveryFrame() {
+        WaveFrameClock clock = WaveFrameClock.getInstance();
+        CountingCallback[] callbacks = new CountingCallback[20];
+        for (int i = 0; i < callbacks.length; i++) {
+            callbacks[i] = new CountingCallback();
+            clock.addCallback(callbacks[i]);
+        }
+        clock.doFrame(System.nanoTime());
+        clock.removeCallback(callbacks[3]);
+        clock.doFrame(System.nanoTime());
+        for (int i = 0; i < callbacks.length; i++) {
+            assertEquals(i == 3 ? 1 : 2, callbacks[i].mFrames);
+            clock.removeCallback(callbacks[i]);
+        }
+    }
+
+    private static class CountingCallback implements WaveFrameClock.Callback {
+        int mFrames;
+
+        @Override
+        public void onFrame(long frameTimeNanos) {
+            mFrames++;
+        }
+    }
+}
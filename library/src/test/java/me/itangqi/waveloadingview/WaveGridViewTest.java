@@ -0,0 +1,88 @@
+package me.itangqi.waveloadingview;
+
+import android.app.Activity;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24)
+public class WaveGridViewTest {
+    private static final int WIDTH = 400;
+
+    private Activity mActivity;
+    private FrameLayout mContainer;
+
+    @Before
+    public void setUp() {
+        mActivity = Robolectric.setupActivity(Activity.class);
+        mContainer = new FrameLayout(mActivity);
+        mActivity.setContentView(mContainer);
+    }
+
+    @Test
+    public void usesWaveLoadingViewDefaults() {
+        WaveGridView grid = new WaveGridView(mActivity);
+        grid.setGaugeCount(2);
+        assertEquals(WaveDrawable.DEFAULT_WAVE_PROGRESS_VALUE, grid.getProgressValue(1));
+    }
+
+    @Test
+    public void columnCountUpdatesCellsAtFixedSize() {
+        WaveGridView grid = new WaveGridView(mActivity);
+        grid.setGaugeCount(8);
+        layout(grid);
+        // 8dp aralık, yoğunluk 1.
+        assertEquals((WIDTH - 3 * 8) / 4, grid.getCellSize());
+
+        grid.setColumnCount(2);
+        assertEquals((WIDTH - 8) / 2, grid.getCellSize());
+    }
+
+    @Test
+    public void unspecifiedWidthUsesDefaultCellSize() {
+        WaveGridView grid = new WaveGridView(mActivity);
+        grid.setGaugeCount(8);
+        grid.measure(View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+        // 4 sütun × 64dp hücre + 3 × 8dp aralık, yoğunluk 1; 2 satır.
+        assertEquals(4 * 64 + 3 * 8, grid.getMeasuredWidth());
+        assertEquals(2 * 64 + 8, grid.getMeasuredHeight());
+    }
+
+    @Test
+    public void frameCallbackIsRemovedWhenIdle() {
+        int callbacks = WaveFrameClock.getInstance().getCallbackCount();
+        WaveGridView grid = new WaveGridView(mActivity);
+        grid.setGaugeCount(4);
+        mContainer.addView(grid);
+        layout(grid);
+        assertEquals(callbacks + 1, WaveFrameClock.getInstance().getCallbackCount());
+
+        grid.cancelAnimation();
+        assertEquals(callbacks, WaveFrameClock.getInstance().getCallbackCount());
+
+        // Su seviyesi animasyonu sürerken geri çağrı tekrar eklenir.
+        grid.setProgressValue(0, 80);
+        assertEquals(callbacks + 1, WaveFrameClock.getInstance().getCallbackCount());
+        grid.startAnimation();
+        assertEquals(callbacks + 1, WaveFrameClock.getInstance().getCallbackCount());
+
+        mContainer.removeView(grid);
+        assertEquals(callbacks, WaveFrameClock.getInstance().getCallbackCount());
+    }
+
+    private static void layout(View view) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, WIDTH, WIDTH);
+    }
+}
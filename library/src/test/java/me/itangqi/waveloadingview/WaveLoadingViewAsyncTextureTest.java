@@ -0,0 +1,119 @@
+package me.itangqi.waveloadingview;
+
+import android.graphics.Color;
+import android.view.View;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24)
+public class WaveLoadingViewAsyncTextureTest {
+    // Havuzda başka testlerden kalmış dokularla çakışmayan boyutlar.
+    private static final int SMALL_SIZE = 211;
+    private static final int LARGE_SIZE = 457;
+    private static final int PREWARM_SIZE = 389;
+
+    private final ArrayList<Runnable> mTasks = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        WaveTexturePool.getInstance().evictAll();
+        WaveTexturePool.getInstance().setGenerationExecutor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                mTasks.add(command);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        WaveTexturePool.getInstance().setGenerationExecutor(null);
+    }
+
+    @Test
+    public void placeholderIsDrawnUntilTextureArrives() {
+        WaveLoadingView view = createView();
+        layout(view, LARGE_SIZE);
+        assertEquals(1, mTasks.size());
+        assertEquals(0, view.getMetrics().getBitmapBytes());
+
+        CountingCanvas canvas = new CountingCanvas(LARGE_SIZE, LARGE_SIZE);
+        view.onDraw(canvas);
+        assertTrue(canvas.getDrawCalls() > 0);
+
+        runTasks();
+        assertEquals(1, view.getMetrics().getShaderRebuildCount());
+        assertTrue(view.getMetrics().getBitmapBytes() > 0);
+    }
+
+    @Test
+    public void supersededRequestIsCancelled() {
+        WaveLoadingView view = createView();
+        layout(view, SMALL_SIZE);
+        layout(view, LARGE_SIZE);
+        assertEquals(2, mTasks.size());
+
+        runTasks();
+        // Sadece son istenen boyutun dokusu teslim edilir.
+        assertEquals(1, view.getMetrics().getShaderRebuildCount());
+    }
+
+    @Test
+    public void cachedTextureIsUsedWithoutWaiting() {
+        WaveLoadingView first = createView();
+        layout(first, LARGE_SIZE);
+        runTasks();
+
+        WaveLoadingView second = createView();
+        layout(second, LARGE_SIZE);
+        assertEquals(0, mTasks.size());
+        assertEquals(1, second.getMetrics().getShaderRebuildCount());
+    }
+
+    @Test
+    public void prewarmedTextureIsUsedWithoutWaiting() {
+        WaveLoadingView.prewarm(RuntimeEnvironment.application, PREWARM_SIZE, PREWARM_SIZE, Color.parseColor("#212121"));
+        // Ana thread boşta kalmış gibi sıradaki dokuyu oluştur.
+        WaveTexturePool.getInstance().prewarmNext();
+
+        WaveLoadingView view = createView();
+        layout(view, PREWARM_SIZE);
+        assertEquals(0, mTasks.size());
+        assertEquals(1, view.getMetrics().getShaderRebuildCount());
+    }
+
+    private WaveLoadingView createView() {
+        WaveLoadingView view = new WaveLoadingView(RuntimeEnvironment.application);
+        view.setAsyncTexture(true);
+        view.setMetricsEnabled(true);
+        return view;
+    }
+
+    private static void layout(WaveLoadingView view, int size) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(size, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(size, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+    }
+
+    private void runTasks() {
+        for (Runnable task : mTasks) {
+            task.run();
+        }
+        mTasks.clear();
+        ShadowLooper.idleMainLooper();
+    }
+}
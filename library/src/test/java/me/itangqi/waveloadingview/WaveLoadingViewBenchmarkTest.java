@@ -0,0 +1,174 @@
+package me.itangqi.waveloadingview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Canvas'a bağlı yolların JVM üzerindeki ölçüm düzeneği. Sonuçlar sadece yazdırılır, doğrulanmaz;
+ * Robolectric çizimi gerçekten yapmadığı için süreler değil, ayrılan bayt sayıları karşılaştırılmalıdır.
+ * <p>
+ * Çalıştırmak için: ./gradlew :library:testDebugUnitTest -PwlvBenchmark
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24)
+public class WaveLoadingViewBenchmarkTest {
+    private static final int[] SIZES = {200, 480, 1080};
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 200;
+
+    @Before
+    public void setUp() {
+        assumeTrue(Boolean.getBoolean("wlv.benchmark"));
+        WaveTexturePool.getInstance().evictAll();
+    }
+
+    @Test
+    public void textureRebuild() {
+        for (final int size : SIZES) {
+            final WaveLoadingView view = createView(WaveLoadingView.ShapeType.SQUARE, size);
+            run("textureRebuild " + size + "px", new Op() {
+                int mIndex;
+
+                @Override
+                public void run() {
+                    // Her renk değişimi dokunun yeniden çizilmesine yol açar.
+                    WaveTexturePool.getInstance().evictAll();
+                    view.setWaveColor(++mIndex % 2 == 0 ? Color.BLUE : Color.RED);
+                }
+            });
+        }
+    }
+
+    @Test
+    public void steadyStateDraw() {
+        for (WaveLoadingView.ShapeType shapeType : WaveLoadingView.ShapeType.values()) {
+            final WaveLoadingView view = createView(shapeType, SIZES[1]);
+            final Canvas canvas = new Canvas(Bitmap.createBitmap(SIZES[1], SIZES[1], Bitmap.Config.ARGB_8888));
+            run("onDraw " + shapeType.name(), new Op() {
+                int mFrame;
+
+                @Override
+                public void run() {
+                    view.setWaveShiftRatio((++mFrame % 60) / 60f);
+                    view.onDraw(canvas);
+                }
+            });
+        }
+    }
+
+    @Test
+    public void progressBurst() {
+        final WaveLoadingView view = createView(WaveLoadingView.ShapeType.CIRCLE, SIZES[1]);
+        run("setProgressValue x50", new Op() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 50; i++) {
+                    view.setProgressValue(i * 2);
+                }
+            }
+        });
+    }
+
+    @Test
+    public void titleRendering() {
+        final WaveLoadingView view = createView(WaveLoadingView.ShapeType.CIRCLE, SIZES[1]);
+        final Canvas canvas = new Canvas(Bitmap.createBitmap(SIZES[1], SIZES[1], Bitmap.Config.ARGB_8888));
+        run("title update + onDraw", new Op() {
+            int mProgress;
+
+            @Override
+            public void run() {
+                view.setCenterTitle(String.valueOf(++mProgress % 100));
+                view.onDraw(canvas);
+            }
+        });
+    }
+
+    @Test
+    public void construction() {
+        run("new WaveLoadingView", new Op() {
+            @Override
+            public void run() {
+                new WaveLoadingView(RuntimeEnvironment.application);
+            }
+        });
+    }
+
+    @Test
+    public void drawCallsPerFrame() {
+        for (WaveLoadingView.ShapeType shapeType : WaveLoadingView.ShapeType.values()) {
+            WaveLoadingView view = createView(shapeType, SIZES[1]);
+            view.setBorderWidth(4);
+            int direct = countDrawCalls(view);
+            view.setStaticLayerCache(true);
+            // İlk kare katmanları kaydeder.
+            view.onDraw(new CountingCanvas(SIZES[1], SIZES[1]));
+            int layered = countDrawCalls(view);
+            System.out.println(String.format("%-28s %4d direct %4d layered draw calls/frame",
+                    "drawCalls " + shapeType.name(), direct, layered));
+        }
+    }
+
+    private static int countDrawCalls(WaveLoadingView view) {
+        CountingCanvas canvas = new CountingCanvas(SIZES[1], SIZES[1]);
+        view.setWaveShiftRatio(view.getWaveShiftRatio() + 0.01f);
+        view.onDraw(canvas);
+        return canvas.getDrawCalls();
+    }
+
+    private WaveLoadingView createView(WaveLoadingView.ShapeType shapeType, int size) {
+        WaveLoadingView view = new WaveLoadingView(RuntimeEnvironment.application);
+        view.setShapeType(shapeType);
+        view.setTopTitle("Top Title");
+        view.setCenterTitle("50%");
+        view.setBottomTitle("Bottom Title");
+        view.measure(View.MeasureSpec.makeMeasureSpec(size, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(size, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+        return view;
+    }
+
+    private static void run(String name, Op op) {
+        for (int i = 0; i < WARMUP; i++) {
+            op.run();
+        }
+        long startBytes = allocatedBytes();
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.run();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long bytes = allocatedBytes() - startBytes;
+        System.out.println(String.format("%-28s %10.1f us/op %10d B/op",
+                name, elapsedNanos / 1000f / ITERATIONS, startBytes < 0 ? -1 : bytes / ITERATIONS));
+    }
+
+    /**
+     * HotSpot dışındaki JVM'lerde -1 döner.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private interface Op {
+        void run();
+    }
+}
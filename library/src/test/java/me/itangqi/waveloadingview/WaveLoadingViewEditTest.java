@@ -0,0 +1,98 @@
+package me.itangqi.waveloadingview;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24)
+public class WaveLoadingViewEditTest {
+    private static final int SIZE = 480;
+
+    private CountingView mView;
+
+    @Before
+    public void setUp() {
+        mView = new CountingView(RuntimeEnvironment.application);
+        mView.measure(View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY));
+        mView.layout(0, 0, SIZE, SIZE);
+        mView.setMetricsEnabled(true);
+        mView.mInvalidateCount = 0;
+    }
+
+    @Test
+    public void editRebuildsTextureAndInvalidatesOnce() {
+        mView.edit()
+                .setWaveColor(Color.BLUE)
+                .setWaveBgColor(Color.LTGRAY)
+                .setBorderColor(Color.WHITE)
+                .setBorderWidth(4)
+                .setTextureMode(WaveLoadingView.TextureMode.COMPACT)
+                .setCenterTitle("Center")
+                .setCenterTitleSize(30)
+                .setTopTitleStrokeWidth(2)
+                .apply();
+
+        assertEquals(1, mView.getMetrics().getShaderRebuildCount());
+        assertEquals(1, mView.mInvalidateCount);
+        assertEquals(Color.BLUE, mView.getWaveColor());
+        assertEquals(WaveLoadingView.TextureMode.COMPACT, mView.getTextureMode());
+    }
+
+    @Test
+    public void nestedEditAppliesOnOutermostApply() {
+        WaveLoadingView.Editor editor = mView.edit().setWaveColor(Color.RED);
+        mView.edit().setWaveColor(Color.GREEN).apply();
+        assertEquals(0, mView.mInvalidateCount);
+        editor.apply();
+
+        assertEquals(1, mView.getMetrics().getShaderRebuildCount());
+        assertEquals(1, mView.mInvalidateCount);
+    }
+
+    @Test
+    public void titleSettersInvalidate() {
+        mView.setCenterTitle("Center");
+        assertTrue(mView.mInvalidateCount > 0);
+
+        mView.mInvalidateCount = 0;
+        mView.setTopTitleStrokeWidth(3);
+        assertTrue(mView.mInvalidateCount > 0);
+
+        mView.mInvalidateCount = 0;
+        mView.setBottomTitleColor(Color.RED);
+        assertTrue(mView.mInvalidateCount > 0);
+    }
+
+    @Test
+    public void settersOutsideEditStillRebuildImmediately() {
+        mView.setWaveColor(Color.BLUE);
+        mView.setWaveColor(Color.RED);
+        assertEquals(2, mView.getMetrics().getShaderRebuildCount());
+    }
+
+    private static class CountingView extends WaveLoadingView {
+        int mInvalidateCount;
+
+        CountingView(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void invalidate() {
+            mInvalidateCount++;
+            super.invalidate();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package me.itangqi.waveloadingview;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.view.View;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.shadows.ShadowBitmap;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Her boyut ve şekil için sabit sayıda animasyon karesi çizip bitmap, bellek ve animatör bütçelerini doğrular.
+ * <p>
+ * Robolectric'in gölge sınıfları kendi içinde az miktarda bellek ayırdığı için kare başına bayt bütçesi sıfır
+ * değildir; bitmap, gölgelendirici veya yol gibi nesnelerin her karede yeniden oluşturulmasını yakalayacak
+ * kadar dardır. Cihaz üzerinde sıfır ayırma WaveLoadingViewAllocationTest ile doğrulanır.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24, shadows = WaveLoadingViewPerformanceTest.CountingShadowBitmap.class)
+public class WaveLoadingViewPerformanceTest {
+    private static final int[] SIZES = {120, 480, 1080};
+    private static final int FRAMES = 120;
+    private static final long FRAME_MS = 16;
+    private static final int PROGRESS_CALLS = 100;
+    // Kare başına ortalama ayrılabilecek en fazla bayt.
+    private static final long DRAW_BYTES_BUDGET = 1024;
+    // setProgressValue() çağrısı başına ortalama ayrılabilecek en fazla bayt.
+    private static final long PROGRESS_BYTES_BUDGET = 16;
+
+    private final List<WaveLoadingView> mViews = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        WaveTexturePool.getInstance().evictAll();
+        CountingShadowBitmap.sCreateCount = 0;
+    }
+
+    @After
+    public void tearDown() {
+        // View'lar pencereye eklenmediği için ayrılırken bırakılacakları da burada bırakılır; dokular ve kare
+        // geri çağrıları sonraki testlere taşınmaz.
+        for (WaveLoadingView view : mViews) {
+            WaveDrawable drawable = view.getWaveDrawable();
+            drawable.stop();
+            drawable.jumpToCurrentState();
+            drawable.release();
+        }
+        mViews.clear();
+        WaveTexturePool.getInstance().evictAll();
+    }
+
+    @Test
+    public void framesDoNotCreateBitmaps() {
+        for (int size : SIZES) {
+            for (WaveLoadingView.ShapeType shapeType : WaveLoadingView.ShapeType.values()) {
+                for (WaveLoadingView.RenderMode renderMode : WaveLoadingView.RenderMode.values()) {
+                    WaveLoadingView view = createView(shapeType, size);
+                    view.setRenderMode(renderMode);
+                    CountingCanvas canvas = new CountingCanvas(size, size, renderMode == WaveLoadingView.RenderMode.PATH);
+                    // İlk kare gerekiyorsa dokuyu oluşturur.
+                    view.onDraw(canvas);
+                    view.getMetrics().reset();
+                    int created = CountingShadowBitmap.sCreateCount;
+                    drawFrames(view, canvas);
+                    String name = size + "px " + shapeType + " " + renderMode;
+                    assertEquals(name + " bitmaps", created, CountingShadowBitmap.sCreateCount);
+                    assertEquals(name + " shader rebuilds", 0, view.getMetrics().getShaderRebuildCount());
+                    assertEquals(name + " draws", FRAMES, view.getMetrics().getDrawCount());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void staticLayersAreRecordedOnce() {
+        for (WaveLoadingView.ShapeType shapeType : WaveLoadingView.ShapeType.values()) {
+            WaveLoadingView view = createView(shapeType, SIZES[1]);
+            view.setBorderWidth(4);
+            view.setStaticLayerCache(true);
+            CountingCanvas canvas = new CountingCanvas(SIZES[1], SIZES[1]);
+            view.onDraw(canvas);
+            int created = CountingShadowBitmap.sCreateCount;
+            drawFrames(view, canvas);
+            assertEquals(shapeType + " bitmaps", created, CountingShadowBitmap.sCreateCount);
+        }
+    }
+
+    @Test
+    public void sameSizeViewsShareTexture() {
+        WaveLoadingView first = createView(WaveLoadingView.ShapeType.CIRCLE, SIZES[1]);
+        assertEquals(1, CountingShadowBitmap.sCreateCount);
+        WaveTexturePool.Texture texture = first.getWaveDrawable().getWaveTexture();
+        for (int i = 0; i < 10; i++) {
+            WaveLoadingView view = createView(WaveLoadingView.ShapeType.CIRCLE, SIZES[1]);
+            assertSame(texture, view.getWaveDrawable().getWaveTexture());
+        }
+        assertEquals(1, CountingShadowBitmap.sCreateCount);
+        assertEquals(texture.getByteCount(), WaveTexturePool.getInstance().getTotalBytes());
+    }
+
+    @Test
+    public void colorChangeRedrawsOwnTextureInPlace() {
+        WaveLoadingView view = createView(WaveLoadingView.ShapeType.CIRCLE, SIZES[1]);
+        WaveTexturePool.Texture texture = view.getWaveDrawable().getWaveTexture();
+        for (int color : new int[]{Color.RED, Color.GREEN, Color.BLUE}) {
+            view.setWaveColor(color);
+            assertSame(texture, view.getWaveDrawable().getWaveTexture());
+        }
+        assertEquals(1, CountingShadowBitmap.sCreateCount);
+        assertEquals(texture.getByteCount(), WaveTexturePool.getInstance().getTotalBytes());
+    }
+
+    @Test
+    public void colorChangeOfSharedTextureAllocates() {
+        WaveLoadingView first = createView(WaveLoadingView.ShapeType.CIRCLE, SIZES[1]);
+        WaveLoadingView second = createView(WaveLoadingView.ShapeType.CIRCLE, SIZES[1]);
+        WaveTexturePool.Texture shared = first.getWaveDrawable().getWaveTexture();
+
+        // Diğer View hâlâ eski rengi gösterdiği için bitmap yerinde değiştirilemez.
+        first.setWaveColor(Color.RED);
+        assertNotSame(shared, first.getWaveDrawable().getWaveTexture());
+        assertSame(shared, second.getWaveDrawable().getWaveTexture());
+        assertEquals(2, CountingShadowBitmap.sCreateCount);
+    }
+
+    @Test
+    public void drawAllocationsStayWithinBudget() {
+        assumeTrue(allocatedBytes() >= 0);
+        for (int size : SIZES) {
+            for (WaveLoadingView.ShapeType shapeType : WaveLoadingView.ShapeType.values()) {
+                WaveLoadingView view = createView(shapeType, size);
+                CountingCanvas canvas = new CountingCanvas(size, size);
+                // Isınma; tembel oluşturulan nesneler ölçüme girmesin.
+                drawFrames(view, canvas);
+                long start = allocatedBytes();
+                drawFrames(view, canvas);
+                long perFrame = (allocatedBytes() - start) / FRAMES;
+                assertTrue(size + "px " + shapeType + " allocated " + perFrame + " B/frame",
+                        perFrame <= DRAW_BYTES_BUDGET);
+            }
+        }
+    }
+
+    @Test
+    public void progressBurstUsesSingleAnimator() {
+        WaveLoadingView view = createView(WaveLoadingView.ShapeType.CIRCLE, SIZES[1]);
+        view.cancelAnimation();
+        int callbacks = WaveFrameClock.getInstance().getCallbackCount();
+        for (int i = 0; i < PROGRESS_CALLS; i++) {
+            view.setProgressValue(i % 100);
+        }
+        // Su seviyesi animatörü yeniden kullanılır; saate en fazla bir geri çağrı eklenir.
+        assertTrue(WaveFrameClock.getInstance().getCallbackCount() - callbacks <= 1);
+
+        assumeTrue(allocatedBytes() >= 0);
+        long start = allocatedBytes();
+        for (int i = 0; i < PROGRESS_CALLS; i++) {
+            view.setProgressValue(100 - i % 100);
+        }
+        long perCall = (allocatedBytes() - start) / PROGRESS_CALLS;
+        assertTrue("allocated " + perCall + " B/setProgressValue", perCall <= PROGRESS_BYTES_BUDGET);
+    }
+
+    /**
+     * Ana thread'i kare kare ilerletir; her karede saatin geri çağrısı çalıştıktan sonra View çizilir.
+     */
+    private static void drawFrames(WaveLoadingView view, CountingCanvas canvas) {
+        for (int i = 0; i < FRAMES; i++) {
+            if (i % 30 == 0) {
+                view.setProgressValue((i / 30 % 2) * 60 + 20);
+            }
+            ShadowLooper.idleMainLooper(FRAME_MS, TimeUnit.MILLISECONDS);
+            view.onDraw(canvas);
+        }
+    }
+
+    private WaveLoadingView createView(WaveLoadingView.ShapeType shapeType, int size) {
+        WaveLoadingView view = new WaveLoadingView(RuntimeEnvironment.application);
+        view.setShapeType(shapeType);
+        view.setTopTitle("Top Title");
+        view.setCenterTitle("50%");
+        view.setBottomTitle("Bottom Title");
+        view.measure(View.MeasureSpec.makeMeasureSpec(size, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(size, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+        view.setMetricsEnabled(true);
+        // Pencereye eklenmediği halde su seviyesi animasyonu karelerde ilerlesin.
+        view.getWaveDrawable().setVisible(true, false);
+        mViews.add(view);
+        return view;
+    }
+
+    /**
+     * HotSpot dışındaki JVM'lerde -1 döner.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * Bitmap.createBitmap() çağrılarını sayar.
+     */
+    @Implements(Bitmap.class)
+    public static class CountingShadowBitmap extends ShadowBitmap {
+        static int sCreateCount;
+
+        @Implementation
+        public static Bitmap createBitmap(int width, int height, Bitmap.Config config) {
+            sCreateCount++;
+            return ShadowBitmap.createBitmap(width, height, config);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package me.itangqi.waveloadingview;
+
+import android.app.Activity;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24)
+public class WaveLoadingViewRecycleTest {
+    // Havuzda başka testlerden kalmış dokularla çakışmayan boyut.
+    private static final int SIZE = 173;
+
+    private Activity mActivity;
+    private FrameLayout mContainer;
+
+    @Before
+    public void setUp() {
+        WaveTexturePool.getInstance().evictAll();
+        mActivity = Robolectric.setupActivity(Activity.class);
+        mContainer = new FrameLayout(mActivity);
+        mActivity.setContentView(mContainer);
+    }
+
+    @Test
+    public void bindWithoutAnimationJumpsToLevel() {
+        WaveLoadingView view = createView();
+        mContainer.addView(view);
+        layout(view);
+        int callbacks = WaveFrameClock.getInstance().getCallbackCount();
+
+        view.bind(70, false);
+        assertEquals(70, view.getProgressValue());
+        assertEquals(0.7f, view.getWaterLevelRatio(), 0.0001f);
+        // Su seviyesi için ayrıca bir kare geri çağrısı eklenmez.
+        assertEquals(callbacks, WaveFrameClock.getInstance().getCallbackCount());
+    }
+
+    @Test
+    public void recycledViewKeepsTexture() {
+        WaveLoadingView view = createView();
+        view.bind(30, false);
+        mContainer.addView(view);
+        layout(view);
+        assertEquals(1, view.getMetrics().getShaderRebuildCount());
+
+        view.setProgressValue(90);
+        view.onRecycled();
+        assertEquals(0.9f, view.getWaterLevelRatio(), 0.0001f);
+        mContainer.removeView(view);
+        assertTrue(view.getMetrics().getBitmapBytes() > 0);
+
+        view.bind(50, false);
+        mContainer.addView(view);
+        layout(view);
+        assertEquals(1, view.getMetrics().getShaderRebuildCount());
+        assertEquals(0.5f, view.getWaterLevelRatio(), 0.0001f);
+    }
+
+    @Test
+    public void evictedTextureIsRetainedOnAttach() {
+        WaveLoadingView view = createView();
+        view.bind(30, false);
+        mContainer.addView(view);
+        layout(view);
+        mContainer.removeView(view);
+
+        // Ayrıkken havuz temizlense de View dokusunu tekrar kaydeder, yeniden çizmez.
+        WaveTexturePool.getInstance().evictAll();
+        mContainer.addView(view);
+        layout(view);
+        assertEquals(1, view.getMetrics().getShaderRebuildCount());
+
+        WaveLoadingView other = createView();
+        mContainer.addView(other);
+        layout(other);
+        assertEquals(1, other.getMetrics().getShaderRebuildCount());
+        assertEquals(view.getMetrics().getBitmapBytes(), other.getMetrics().getBitmapBytes());
+    }
+
+    @Test
+    public void drawsWhileHiddenAreCounted() {
+        WaveLoadingView view = createView();
+        mContainer.addView(view);
+        layout(view);
+        Canvas canvas = new Canvas(Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888));
+        view.draw(canvas);
+        assertEquals(0, view.getMetrics().getInvisibleFrameCount());
+
+        view.setVisibility(View.INVISIBLE);
+        view.draw(canvas);
+        view.draw(canvas);
+        assertEquals(2, view.getMetrics().getInvisibleFrameCount());
+
+        view.setVisibility(View.VISIBLE);
+        view.draw(canvas);
+        assertEquals(2, view.getMetrics().getInvisibleFrameCount());
+    }
+
+    private WaveLoadingView createView() {
+        WaveLoadingView view = new WaveLoadingView(mActivity);
+        view.setMetricsEnabled(true);
+        return view;
+    }
+
+    private static void layout(WaveLoadingView view) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+    }
+}
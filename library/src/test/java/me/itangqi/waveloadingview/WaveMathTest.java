@@ -0,0 +1,34 @@
+package me.itangqi.waveloadingview;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WaveMathTest {
+
+    @Test
+    public void waveBandContainsEveryWaveColumn() throws Exception {
+        int width = 720;
+        int height = 1280;
+        float[] waveY = new float[width + 1];
+        for (int progress = 0; progress <= 100; progress += 5) {
+            float waterLevelRatio = progress / 100f;
+            float amplitudeRatio = 0.05f;
+            WaveMath.computeWaveY(waveY, height * (1f - waterLevelRatio), height * amplitudeRatio, width);
+            int top = WaveMath.getWaveBandTop(height, waterLevelRatio, amplitudeRatio);
+            int bottom = WaveMath.getWaveBandBottom(height, waterLevelRatio, amplitudeRatio);
+            for (float y : waveY) {
+                assertTrue(y >= top);
+                assertTrue(y <= bottom);
+            }
+        }
+    }
+
+    @Test
+    public void waveBandIsMuchSmallerThanView() throws Exception {
+        int height = 1920;
+        int bandHeight = WaveMath.getWaveBandBottom(height, 0.5f, WaveDrawable.DEFAULT_AMPLITUDE_RATIO)
+                - WaveMath.getWaveBandTop(height, 0.5f, WaveDrawable.DEFAULT_AMPLITUDE_RATIO);
+        assertTrue(bandHeight <= height / 4);
+    }
+}
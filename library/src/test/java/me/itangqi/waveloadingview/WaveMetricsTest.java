@@ -0,0 +1,76 @@
+package me.itangqi.waveloadingview;
+
+import org.junit.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+public class WaveMetricsTest {
+    private static final long MS = 1000000L;
+
+    @Test
+    public void drawsFallIntoBuckets() throws Exception {
+        WaveMetrics metrics = new WaveMetrics();
+        metrics.recordDraw(MS / 2);
+        metrics.recordDraw(MS);
+        metrics.recordDraw(3 * MS);
+        metrics.recordDraw(15 * MS);
+        metrics.recordDraw(40 * MS);
+
+        assertEquals(6, metrics.getDrawBucketCount());
+        assertEquals(1, metrics.getDrawBucket(0));
+        assertEquals(1, metrics.getDrawBucket(1));
+        assertEquals(1, metrics.getDrawBucket(2));
+        assertEquals(0, metrics.getDrawBucket(3));
+        assertEquals(1, metrics.getDrawBucket(4));
+        assertEquals(1, metrics.getDrawBucket(5));
+        assertEquals(Integer.MAX_VALUE, metrics.getDrawBucketLimitMillis(5));
+        assertEquals(5, metrics.getDrawCount());
+        assertEquals(40 * MS, metrics.getMaxDrawNanos());
+        assertEquals((MS / 2 + MS + 3 * MS + 15 * MS + 40 * MS) / 5, metrics.getAverageDrawNanos());
+    }
+
+    @Test
+    public void resetClearsCountersButKeepsSnapshots() throws Exception {
+        WaveMetrics metrics = new WaveMetrics();
+        metrics.recordDraw(2 * MS);
+        metrics.recordShaderRebuild(5 * MS);
+        metrics.recordInvisibleFrame();
+        metrics.setBitmapBytes(1024);
+        metrics.reset();
+
+        assertEquals(0, metrics.getDrawCount());
+        assertEquals(0, metrics.getAverageDrawNanos());
+        assertEquals(0, metrics.getDrawBucket(2));
+        assertEquals(0, metrics.getShaderRebuildCount());
+        assertEquals(0, metrics.getInvisibleFrameCount());
+        // Tutulan bellek bir sayaç değil, o anki durumdur.
+        assertEquals(1024, metrics.getBitmapBytes());
+    }
+
+    @Test
+    public void dumpContainsAllCounters() throws Exception {
+        WaveMetrics metrics = new WaveMetrics();
+        metrics.recordDraw(3 * MS);
+        metrics.recordShaderRebuild(MS);
+        metrics.recordInvisibleFrame();
+        metrics.setBitmapBytes(4096);
+        metrics.setLiveAnimatorCount(2);
+
+        StringWriter out = new StringWriter();
+        PrintWriter writer = new PrintWriter(out);
+        metrics.dump("  ", writer);
+        writer.flush();
+        String dump = out.toString();
+
+        assertTrue(dump, dump.contains("  draws=1 avg=3.00ms max=3.00ms"));
+        assertTrue(dump, dump.contains("<4ms=1"));
+        assertTrue(dump, dump.contains(">=16ms=0"));
+        assertTrue(dump, dump.contains("shader rebuilds=1 total=1.00ms"));
+        assertTrue(dump, dump.contains("bitmap bytes=4096"));
+        assertTrue(dump, dump.contains("live animators=2"));
+        assertTrue(dump, dump.contains("invisible frames=1"));
+    }
+}
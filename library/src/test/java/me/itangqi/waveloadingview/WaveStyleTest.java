@@ -0,0 +1,71 @@
+package me.itangqi.waveloadingview;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.util.AttributeSet;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import me.itangqi.library.R;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24)
+public class WaveStyleTest {
+
+    @Test
+    public void viewsWithoutOwnAttributesShareStyle() {
+        Context context = RuntimeEnvironment.application;
+        assertSame(WaveStyle.obtain(context, null, 0), WaveStyle.obtain(context, null, 0));
+    }
+
+    @Test
+    public void sameInlineAttributesShareStyle() {
+        Context context = RuntimeEnvironment.application;
+        WaveStyle first = WaveStyle.obtain(context, progressAttributes("30"), 0);
+        WaveStyle second = WaveStyle.obtain(context, progressAttributes("30"), 0);
+        assertSame(first, second);
+        assertEquals(30, first.mProgressValue);
+
+        WaveStyle other = WaveStyle.obtain(context, progressAttributes("70"), 0);
+        assertNotSame(first, other);
+        assertEquals(70, other.mProgressValue);
+    }
+
+    @Test
+    public void defaultsAreReadOnce() {
+        WaveStyle style = WaveStyle.obtain(RuntimeEnvironment.application, null, 0);
+        assertEquals(WaveLoadingView.ShapeType.CIRCLE.ordinal(), style.mShapeType);
+        assertEquals(WaveDrawable.DEFAULT_WAVE_PROGRESS_VALUE, style.mProgressValue);
+        assertEquals(WaveLoadingView.TextureMode.FULL, style.mTextureMode);
+        assertNull(style.mCenterTitle);
+    }
+
+    @Test
+    public void titleGettersWorkBeforePaintsExist() {
+        WaveLoadingView view = new WaveLoadingView(RuntimeEnvironment.application);
+        WaveStyle style = WaveStyle.obtain(RuntimeEnvironment.application, null, 0);
+        assertEquals(style.mCenterTitleColor, view.getCenterTitleColor());
+        assertEquals(style.mCenterTitleSize, view.getCenterTitleSize(), 0f);
+
+        view.setCenterTitle("Center");
+        assertEquals(style.mCenterTitleSize, view.getCenterTitleSize(), 0f);
+        view.setTopTitleColor(Color.RED);
+        assertEquals(Color.RED, view.getTopTitleColor());
+    }
+
+    private static AttributeSet progressAttributes(String progress) {
+        return Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.wlv_progressValue, progress)
+                .build();
+    }
+}
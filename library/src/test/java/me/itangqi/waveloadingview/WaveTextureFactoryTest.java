@@ -0,0 +1,49 @@
+package me.itangqi.waveloadingview;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WaveTextureFactoryTest {
+
+    @Test
+    public void compactBandCoversWholeAmplitude() throws Exception {
+        for (int height = 10; height <= 2000; height += 7) {
+            int top = WaveTextureFactory.getTextureTop(height, WaveLoadingView.TextureMode.COMPACT);
+            int bandHeight = WaveTextureFactory.getTextureHeight(height, WaveLoadingView.TextureMode.COMPACT);
+            float crest = height * (WaveDrawable.DEFAULT_WATER_LEVEL_RATIO - WaveDrawable.DEFAULT_AMPLITUDE_RATIO);
+            float trough = height * (WaveDrawable.DEFAULT_WATER_LEVEL_RATIO + WaveDrawable.DEFAULT_AMPLITUDE_RATIO);
+            assertTrue("band must start above the crest", top <= crest);
+            assertTrue("band must end below the trough", top + bandHeight >= Math.min(height, trough));
+            assertTrue(top + bandHeight <= height);
+        }
+    }
+
+    @Test
+    public void fullModeKeepsViewSize() throws Exception {
+        assertEquals(0, WaveTextureFactory.getTextureTop(1920, WaveLoadingView.TextureMode.FULL));
+        assertEquals(1920, WaveTextureFactory.getTextureHeight(1920, WaveLoadingView.TextureMode.FULL));
+        assertEquals(1080, WaveTextureFactory.getTextureWidth(1080, 1f, WaveLoadingView.TextureMode.FULL));
+    }
+
+    @Test
+    public void compactAlpha8SavesMoreThanTenTimesForFullScreenRectangle() throws Exception {
+        int width = 1080;
+        int height = 1920;
+        long fullBytes = (long) width * height * 4;
+        long compactBytes = (long) WaveTextureFactory.getTextureWidth(width, 1f, WaveLoadingView.TextureMode.COMPACT_ALPHA_8)
+                * WaveTextureFactory.getTextureHeight(height, WaveLoadingView.TextureMode.COMPACT_ALPHA_8);
+        assertTrue(fullBytes / compactBytes > 10);
+    }
+
+    @Test
+    public void waveLengthFollowsRatio() throws Exception {
+        assertEquals(1620f, WaveTextureFactory.getWaveLength(1080, 1.5f, WaveLoadingView.TextureMode.FULL), 0.001f);
+        // Kompakt doku tam olarak bir dalga boyu genişliğinde olmalı ki yatayda ek yeri olmadan tekrarlansın.
+        for (float ratio = 0.5f; ratio <= 2f; ratio += 0.13f) {
+            int textureWidth = WaveTextureFactory.getTextureWidth(333, ratio, WaveLoadingView.TextureMode.COMPACT);
+            assertEquals(textureWidth, WaveTextureFactory.getWaveLength(333, ratio, WaveLoadingView.TextureMode.COMPACT),
+                    0f);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package me.itangqi.waveloadingview;
+
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24)
+public class WaveTextureViewTest {
+
+    @Test
+    public void doesNotUseMainThreadFrameClock() {
+        int callbacks = WaveFrameClock.getInstance().getCallbackCount();
+        WaveTextureView view = new WaveTextureView(RuntimeEnvironment.application);
+        view.setProgressValue(80);
+
+        assertEquals(80, view.getProgressValue());
+        assertEquals(callbacks, WaveFrameClock.getInstance().getCallbackCount());
+    }
+
+    @Test
+    public void measuresSquareUnlessRectangle() {
+        WaveTextureView view = new WaveTextureView(RuntimeEnvironment.application);
+        measure(view, 200, 120);
+        assertEquals(120, view.getMeasuredWidth());
+        assertEquals(120, view.getMeasuredHeight());
+
+        view.setShapeType(WaveLoadingView.ShapeType.RECTANGLE);
+        measure(view, 200, 120);
+        assertEquals(200, view.getMeasuredWidth());
+        assertEquals(120, view.getMeasuredHeight());
+    }
+
+    private static void measure(View view, int width, int height) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+    }
+}
@@ -104,10 +104,11 @@ public class MainActivity extends AppCompatActivity {
         ((CheckBox) findViewById(R.id.cb_title_center)).setOnCheckedChangeListener(new CompoundButton.OnCheckedChangeListener() {
             @Override
             public void onCheckedChanged(CompoundButton compoundButton, boolean b) {
+                // Yüzde, su seviyesiyle birlikte String oluşturmadan sayar.
                 if (b) {
-                    mWaveLoadingView.setCenterTitle("Merkez Başlık");
+                    mWaveLoadingView.setProgressLabel("{p}%");
                 } else {
-                    mWaveLoadingView.setCenterTitle("");
+                    mWaveLoadingView.setProgressLabel(null);
                 }
             }
         });